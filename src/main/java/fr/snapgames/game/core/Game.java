@@ -5,20 +5,34 @@ import fr.snapgames.game.core.configuration.ConfigAttribute;
 import fr.snapgames.game.core.configuration.Configuration;
 import fr.snapgames.game.core.entity.GameEntity;
 import fr.snapgames.game.core.graphics.Animations;
+import fr.snapgames.game.core.graphics.RenderSnapshot;
 import fr.snapgames.game.core.graphics.Renderer;
 import fr.snapgames.game.core.graphics.Window;
 import fr.snapgames.game.core.io.GameKeyListener;
 import fr.snapgames.game.core.io.InputHandler;
+import fr.snapgames.game.core.io.InputRecorder;
+import fr.snapgames.game.core.io.InputReplayer;
 import fr.snapgames.game.core.lang.I18n;
 import fr.snapgames.game.core.math.PhysicEngine;
+import fr.snapgames.game.core.monitoring.FrameTimingRecorder;
+import fr.snapgames.game.core.monitoring.FrameTimingRecorder.Phase;
+import fr.snapgames.game.core.monitoring.StatsRegistry;
+import fr.snapgames.game.core.monitoring.events.FrameEvent;
 import fr.snapgames.game.core.scene.Scene;
 import fr.snapgames.game.core.scene.SceneManager;
+import fr.snapgames.game.core.time.FixedTimeStep;
+import fr.snapgames.game.core.time.FramePacer;
+import fr.snapgames.game.core.time.Scheduler;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.Exchanger;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Main Game Java2D test.
@@ -28,9 +42,25 @@ import java.util.Optional;
  */
 public class Game extends JPanel {
 
+    /**
+     * Factor converting the milliseconds of the game loop into the time unit used by the update processing.
+     */
+    private static final double TIME_SCALE = .04;
+    /**
+     * Maximum number of fixed updates processed in one loop, to avoid the spiral of death after a long frame.
+     */
+    private static final int MAX_UPDATES_PER_FRAME = 5;
+
     // Frames to be rendered
     double FPS = 60.0;
-    double fpsDelay = 1000000.0 / 60.0;
+    // Updates to be computed when the fixed time step is activated
+    double UPS = 60.0;
+    boolean fixedTimeStep = false;
+    // headless simulation mode
+    boolean headless = false;
+    boolean headlessRender = false;
+    // pipelined rendering
+    boolean pipelined = false;
     double scale = 1.0;
     // debug level
     int debug = 0;
@@ -44,7 +74,20 @@ public class Game extends JPanel {
      */
     private boolean testMode;
 
+    /**
+     * The statistics computed by the game loop.
+     */
+    private final StatsRegistry stats = new StatsRegistry();
+    private final StatsRegistry.Gauge loopCountStat = stats.gauge("cnt");
+    private final StatsRegistry.Gauge fpsStat = stats.gauge("fps");
+    private final StatsRegistry.Gauge upsStat = stats.gauge("ups");
+    private final StatsRegistry.TextGauge pauseStat = stats.text("pause");
+    private final StatsRegistry.Gauge entitiesStat = stats.gauge("obj");
+    private final StatsRegistry.TextGauge sceneStat = stats.text("scn");
+    private final StatsRegistry.Gauge debugStat = stats.gauge("dbg");
+
     // Internal components
+    private final GameContext context = new GameContext();
     private Configuration config;
 
     private Window window;
@@ -55,6 +98,15 @@ public class Game extends JPanel {
     private PhysicEngine physicEngine;
     private SceneManager scm;
     private Animations animations;
+    private FramePacer pacer;
+    private FrameTimingRecorder timings;
+    private Random random;
+    private final Scheduler scheduler = new Scheduler();
+
+    // pipelined rendering: the snapshot being captured and the exchange point with the render thread.
+    private RenderSnapshot snapshot;
+    private final Exchanger<RenderSnapshot> snapshotExchanger = new Exchanger<>();
+    private Thread renderThread;
 
     /**
      * Create Game by loading configuration from the default game.properties file,
@@ -76,14 +128,18 @@ public class Game extends JPanel {
      *                       will not occur:
      *                       only ONE loop in the game loop will be achieved, to let
      *                       the unit test manage
-     *                       the looping strategy for test purpose.
+     *                       the looping strategy for test purpose. The services are then
+     *                       initialized at once, without any Window.
      * @see Configuration
      */
     public Game(String configFilePath, boolean mode) {
-        this.testMode = testMode;
+        this.testMode = mode;
         config = new Configuration(ConfigAttribute.values())
-                .setConfigurationFile("/game.properties")
+                .setConfigurationFile(configFilePath)
                 .parseConfigFile();
+        if (testMode) {
+            initialize(new String[]{"headless=true"});
+        }
     }
 
     /**
@@ -93,9 +149,24 @@ public class Game extends JPanel {
      */
     private void initialize(String[] args) {
         config.parseArgs(args);
+        timings = new FrameTimingRecorder((int) config.get(ConfigAttribute.MONITORING_TIMING_SAMPLES));
         debug = (int) config.get(ConfigAttribute.DEBUG_LEVEL);
         FPS = (int) config.get(ConfigAttribute.RENDER_FPS);
-        fpsDelay = 1000000.0 / FPS;
+        UPS = (int) config.get(ConfigAttribute.PHYSIC_UPS);
+        fixedTimeStep = (boolean) config.get(ConfigAttribute.PHYSIC_FIXED_STEP);
+        headless = (boolean) config.get(ConfigAttribute.GAME_HEADLESS);
+        headlessRender = (boolean) config.get(ConfigAttribute.GAME_HEADLESS_RENDER);
+        pipelined = (boolean) config.get(ConfigAttribute.RENDER_PIPELINED);
+        double loopRate = FPS;
+        if (headless) {
+            pipelined = pipelined && headlessRender;
+            loopRate = (int) config.get(ConfigAttribute.GAME_HEADLESS_TICK_RATE);
+        }
+        if ((boolean) config.get(ConfigAttribute.MONITORING_JMX)) {
+            timings.register(context.getId());
+        }
+        pacer = new FramePacer(loopRate, 1000L * (int) config.get(ConfigAttribute.RENDER_PACER_SPIN));
+        pacer.registerStats(stats);
 
         // retrieve some Window parameters
         String title = I18n.get("game.window.title");
@@ -104,52 +175,175 @@ public class Game extends JPanel {
         // set input handlers
         inputHandler = new InputHandler(this);
         inputHandler.addListener(new GameKeyListener(this));
+        initializeInputLog();
 
         scale = (double) config.get(ConfigAttribute.WINDOW_SCALE);
 
-        // Create the output window.
-        window = new Window(this, title, dim);
-        window.add(inputHandler);
+        // Create the output window, if required.
+        if (!headless) {
+            window = new Window(this, title, dim);
+            window.add(inputHandler);
+        } else {
+            System.out.printf("INFO: Game:Running in headless mode%n");
+        }
 
         // create services
         renderer = new Renderer(this, (Dimension) config.get(ConfigAttribute.VIEWPORT_SIZE));
         physicEngine = new PhysicEngine(this);
+        physicEngine.registerStats(stats);
         scm = new SceneManager(this);
         scm.initialize(this);
+        context.register(Configuration.class, config)
+                .register(InputHandler.class, inputHandler)
+                .register(Renderer.class, renderer)
+                .register(PhysicEngine.class, physicEngine)
+                .register(SceneManager.class, scm)
+                .register(StatsRegistry.class, stats)
+                .register(Scheduler.class, scheduler)
+                .register(FrameTimingRecorder.class, timings);
 
 
         scm.activateDefaultScene();
-        create(window.getGraphics());
+        create();
 
     }
 
-    private void create(Graphics2D g) {
+    /**
+     * Create the game random generator, and start the recording or the replay of the keyboard input if requested
+     * by the {@link ConfigAttribute#INPUT_RECORD_FILE} or {@link ConfigAttribute#INPUT_REPLAY_FILE} configuration.
+     * A replay reuses the random generator seed of the recording, to reproduce exactly the same run.
+     */
+    private void initializeInputLog() {
+        long seed = (long) config.get(ConfigAttribute.GAME_RANDOM_SEED);
+        String replayFile = (String) config.get(ConfigAttribute.INPUT_REPLAY_FILE);
+        String recordFile = (String) config.get(ConfigAttribute.INPUT_RECORD_FILE);
+        if (!replayFile.isEmpty()) {
+            try {
+                InputReplayer replayer = new InputReplayer(Path.of(replayFile));
+                seed = replayer.getSeed();
+                inputHandler.setReplayer(replayer);
+                System.out.printf("INFO: Game:Replay keyboard input from %s%n", replayFile);
+            } catch (IOException e) {
+                System.err.printf("ERROR: Game:Unable to replay keyboard input from %s: %s%n", replayFile, e.getMessage());
+            }
+        }
+        if (seed == 0) {
+            seed = System.nanoTime();
+        }
+        random = new Random(seed);
+        if (!recordFile.isEmpty() && replayFile.isEmpty()) {
+            try {
+                inputHandler.setRecorder(new InputRecorder(Path.of(recordFile), seed));
+                // the window closing exits the JVM without ending the loop.
+                Runtime.getRuntime().addShutdownHook(new Thread(inputHandler::close, "input-record-close"));
+                if (!fixedTimeStep && !headless) {
+                    System.err.printf("ERROR: Game:Keyboard input recorded with a variable time step can not be replayed identically%n");
+                }
+                System.out.printf("INFO: Game:Record keyboard input into %s%n", recordFile);
+            } catch (IOException e) {
+                System.err.printf("ERROR: Game:Unable to record keyboard input into %s: %s%n", recordFile, e.getMessage());
+            }
+        }
+    }
+
+    private void create() {
         Scene s = scm.getActiveScene();
         s.loadResources(this);
     }
 
     /**
      * Draw all things on screen.
+     * <p>
+     * In pipelined mode, the rendering state is captured into a {@link RenderSnapshot} and handed to the render
+     * thread, which gives back the snapshot it has just drawn.
      *
-     * @param stats a list of stats in a {@link Map} to be displayed in the debug
+     * @param stats the {@link StatsRegistry} to be displayed in the debug
      *              bar.
      */
-    private void draw(Map<String, Object> stats) {
-        renderer.draw(stats);
-        window.drawFrom(renderer, stats, scale);
+    private void draw(StatsRegistry stats) {
+        if (pipelined) {
+            renderer.capture(snapshot, stats);
+            try {
+                snapshot = snapshotExchanger.exchange(snapshot, 1, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                System.err.printf("ERROR: Game:Render thread did not get the frame in time%n");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exit = true;
+            }
+            return;
+        }
+        if (!headless || headlessRender) {
+            timings.start(Phase.RENDER);
+            renderer.draw(stats);
+            timings.stop(Phase.RENDER);
+        }
+        if (Optional.ofNullable(window).isPresent()) {
+            timings.start(Phase.PRESENT);
+            window.drawFrom(renderer, stats, scale);
+            timings.stop(Phase.PRESENT);
+        }
+    }
+
+    /**
+     * Start the render thread for the pipelined mode: the thread draws the {@link RenderSnapshot} provided by the
+     * update thread through the exchanger, until a null snapshot is received.
+     */
+    private void startRenderThread() {
+        snapshot = new RenderSnapshot();
+        renderThread = new Thread(() -> {
+            RenderSnapshot drawn = new RenderSnapshot();
+            try {
+                while ((drawn = snapshotExchanger.exchange(drawn)) != null) {
+                    timings.start(Phase.RENDER);
+                    renderer.draw(drawn);
+                    timings.stop(Phase.RENDER);
+                    if (Optional.ofNullable(window).isPresent()) {
+                        timings.start(Phase.PRESENT);
+                        window.drawFrom(renderer, drawn.getStats(), scale);
+                        timings.stop(Phase.PRESENT);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "game-render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    /**
+     * Request the render thread to stop and wait for its end.
+     */
+    private void stopRenderThread() {
+        try {
+            snapshotExchanger.exchange(null, 1, TimeUnit.SECONDS);
+            renderThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            renderThread.interrupt();
+        }
     }
 
     /**
      * update game entities according to input
      */
     private void input() {
+        if (!inputHandler.tick()) {
+            exit = true;
+        }
         Scene s = scm.getActiveScene();
+        timings.start(Phase.BEHAVIOR_INPUT);
         for (GameEntity e : s.getEntities().values()) {
             for (Behavior b : e.behaviors) {
                 b.input(this, e);
             }
         }
+        timings.stop(Phase.BEHAVIOR_INPUT);
+        timings.start(Phase.INPUT);
         scm.getActiveScene().input(this, inputHandler);
+        timings.stop(Phase.INPUT);
     }
 
     /**
@@ -158,49 +352,101 @@ public class Game extends JPanel {
      * @param elapsed elapsed time since previous call.
      */
     public void update(double elapsed) {
+        timings.start(Phase.PHYSIC);
         physicEngine.update(elapsed);
+        timings.stop(Phase.PHYSIC);
+        timings.start(Phase.SCENE_UPDATE);
         if (Optional.ofNullable(renderer.getCurrentCamera()).isPresent()) {
             renderer.getCurrentCamera().update(elapsed);
         }
         scm.getActiveScene().update(this, elapsed);
+        scheduler.advance(elapsed / TIME_SCALE);
+        timings.stop(Phase.SCENE_UPDATE);
     }
 
     /**
      * Request to close this Window frame.
      */
     public void dispose() {
-        window.close();
-        config.save();
+        if (Optional.ofNullable(window).isPresent()) {
+            window.close();
+        }
+        inputHandler.close();
+        timings.unregister();
+        context.dispose();
+        // a headless simulation does not update the configuration file shared with the other instances.
+        if (!headless) {
+            config.save();
+        }
     }
 
     /**
-     * Main Game loop
+     * Main Game loop.
+     * <p>
+     * If the {@link ConfigAttribute#PHYSIC_FIXED_STEP} is activated, the input and update processing are performed
+     * at a fixed rate of {@link ConfigAttribute#PHYSIC_UPS} per second, through a {@link FixedTimeStep}, and the
+     * {@link Renderer} interpolates the entities' positions between the last two updated states.
+     * Else, the elapsed time since the previous loop is directly used to update the entities.
+     * <p>
+     * In headless mode ({@link ConfigAttribute#GAME_HEADLESS}), each loop performs exactly one update with the
+     * fixed time step, decoupling the simulated time from the real time: the loop runs as fast as possible, or at
+     * the {@link ConfigAttribute#GAME_HEADLESS_TICK_RATE} if set.
+     * <p>
+     * In pipelined mode ({@link ConfigAttribute#RENDER_PIPELINED}), the frame N is drawn by a dedicated render
+     * thread while this loop updates the frame N+1.
      */
     public void loop() {
         // elapsed Game Time
         double start = 0;
         double end = 0;
         double dt = 0;
+        // fixed time step
+        double updateStep = 1000.0 / UPS;
+        FixedTimeStep timeStep = new FixedTimeStep(updateStep, MAX_UPDATES_PER_FRAME);
         // FPS measure
         long frames = 0;
         long realFPS = 0;
 
         long ups = 0;
         long realUPS = 0;
-        long timeFrame = 0;
+        double timeFrame = 0;
         long loopCounter = 0;
         int maxLoopCounter = (int) config.get(ConfigAttribute.EXIT_TEST_COUNT_FRAME);
-        Map<String, Object> loopData = new HashMap<>();
+        if (pipelined) {
+            startRenderThread();
+        }
         while (!exit && !testMode
                 && !(maxLoopCounter != -1 && loopCounter > maxLoopCounter)) {
             start = System.nanoTime() / 1000000.0;
+            FrameEvent frameEvent = new FrameEvent();
+            frameEvent.begin();
+            long previousUpdates = ups;
             loopCounter++;
-            input();
-            if (!pause) {
-                update(dt * .04);
-                ups += 1;
+            if (headless) {
+                input();
+                if (!pause) {
+                    update(updateStep * TIME_SCALE);
+                    ups += 1;
+                }
+            } else if (fixedTimeStep) {
+                int updates = timeStep.advance(dt);
+                for (int i = 0; i < updates; i++) {
+                    input();
+                    if (!pause) {
+                        update(updateStep * TIME_SCALE);
+                        ups += 1;
+                    }
+                }
+                renderer.setInterpolation(timeStep.getInterpolation(pause));
+            } else {
+                input();
+                if (!pause) {
+                    update(dt * TIME_SCALE);
+                    ups += 1;
+                }
             }
 
+            int frameUpdates = (int) (ups - previousUpdates);
             frames += 1;
             timeFrame += dt;
             if (timeFrame > 1000) {
@@ -210,33 +456,47 @@ public class Game extends JPanel {
                 ups = 0;
                 timeFrame = 0;
             }
-            loopData.put("cnt", loopCounter);
-            loopData.put("fps", realFPS);
-            loopData.put("ups", realUPS);
+            loopCountStat.set(loopCounter);
+            fpsStat.set(realFPS);
+            upsStat.set(realUPS);
 
-            loopData.put("pause", isUpdatePause() ? "ON" : "OFF");
-            loopData.put("obj", getSceneManager().getActiveScene().getEntities().size());
-            loopData.put("scn", getSceneManager().getActiveScene().getName());
-            loopData.put("dbg", getDebug());
+            pauseStat.set(isUpdatePause() ? "ON" : "OFF");
+            entitiesStat.set(getSceneManager().getActiveScene().getEntities().size());
+            sceneStat.set(getSceneManager().getActiveScene().getName());
+            debugStat.set(getDebug());
+            pacer.report();
 
-            draw(loopData);
-            waitUntilStepEnd(dt);
+            draw(stats);
+            pacer.sync();
 
             end = System.nanoTime() / 1000000.0;
             dt = end - start;
+            timings.record(Phase.FRAME, (long) (dt * 1000000.0));
+
+            frameEvent.end();
+            if (frameEvent.shouldCommit()) {
+                frameEvent.frame = loopCounter;
+                frameEvent.updates = frameUpdates;
+                frameEvent.entities = getSceneManager().getActiveScene().getEntities().size();
+                frameEvent.scene = getSceneManager().getActiveScene().getName();
+                frameEvent.commit();
+            }
         }
-
-    }
-
-    private void waitUntilStepEnd(double dt) {
-        if (dt < fpsDelay) {
-            try {
-                Thread.sleep((long) (fpsDelay - dt) / 1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.err.printf("ERROR: Unable to wait for %d ms: %s%n", fpsDelay - dt, e.getMessage());
+        if (pipelined) {
+            stopRenderThread();
+        }
+        if (headless) {
+            System.out.printf("INFO: Game:Headless loop ended with stats %s%n", stats);
+            for (Phase phase : Phase.values()) {
+                System.out.printf("INFO: Game:Phase %-14s mean=%.3f ms p50=%.3f ms p95=%.3f ms p99=%.3f ms%n",
+                        phase,
+                        timings.getMean(phase) / 1e6,
+                        timings.getPercentile(phase, 50) / 1e6,
+                        timings.getPercentile(phase, 95) / 1e6,
+                        timings.getPercentile(phase, 99) / 1e6);
             }
         }
+
     }
 
     /**
@@ -245,7 +505,9 @@ public class Game extends JPanel {
      * @param args Command line arguments
      */
     public void run(String[] args) {
-        initialize(args);
+        if (!testMode) {
+            initialize(args);
+        }
         loop();
         dispose();
     }
@@ -262,6 +524,53 @@ public class Game extends JPanel {
         exit = requestExit;
     }
 
+    /**
+     * Retrieve the statistics computed by the game loop (e.g. <code>cnt</code>, <code>fps</code>,
+     * <code>ups</code>).
+     *
+     * @return the {@link StatsRegistry} of the game loop statistics.
+     */
+    public StatsRegistry getStats() {
+        return stats;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Retrieve the game random generator, to be used instead of {@link Math#random()} so that a run can be
+     * reproduced from its seed (see {@link ConfigAttribute#GAME_RANDOM_SEED}).
+     *
+     * @return the {@link Random} instance of the game.
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Retrieve the scheduler running delayed and periodic tasks on the game time (in milliseconds, stopped when
+     * the game is paused). All its tasks are cancelled when another scene is activated.
+     *
+     * @return the {@link Scheduler} of the game.
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public FrameTimingRecorder getTimings() {
+        return timings;
+    }
+
+    /**
+     * Retrieve the engine state owned by this game instance.
+     *
+     * @return the {@link GameContext} of this game.
+     */
+    public GameContext getContext() {
+        return context;
+    }
+
     public Configuration getConfiguration() {
         return config;
     }
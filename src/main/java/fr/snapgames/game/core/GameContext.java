@@ -0,0 +1,85 @@
+package fr.snapgames.game.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import fr.snapgames.game.core.entity.GameEntity;
+import fr.snapgames.game.core.resources.ResourceManager;
+
+/**
+ * The {@link GameContext} owns all the engine state of one {@link Game} instance: its identifier, the
+ * {@link GameEntity} identifier allocator, its {@link ResourceManager} and the registry of its services.
+ * <p>
+ * Nothing mutable is shared between two {@link Game} instances, so that many games (e.g. headless simulations) can
+ * run in the same JVM, each one in its own thread. Only the read-only assets are shared: the decoded images of the
+ * {@link ResourceManager} cache, and the {@link fr.snapgames.game.core.lang.I18n} messages.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class GameContext {
+    private static final AtomicInteger instances = new AtomicInteger(0);
+
+    private final String id;
+    private final AtomicLong entityIds = new AtomicLong(0);
+    private final ResourceManager resourceManager = new ResourceManager();
+    private final Map<Class<?>, Object> services = new ConcurrentHashMap<>();
+
+    public GameContext() {
+        this.id = "game-" + instances.incrementAndGet();
+    }
+
+    /**
+     * @return the unique identifier of this context in the JVM (e.g. <code>game-1</code>).
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Allocate a new {@link GameEntity} identifier, unique in this context.
+     *
+     * @return the new identifier, starting from 1.
+     */
+    public long nextEntityId() {
+        return entityIds.incrementAndGet();
+    }
+
+    public ResourceManager getResourceManager() {
+        return resourceManager;
+    }
+
+    /**
+     * Register a service of the game.
+     *
+     * @param type    the class the service is registered for.
+     * @param service the service instance.
+     * @param <T>     the type of service.
+     * @return the updated {@link GameContext}.
+     */
+    public <T> GameContext register(Class<T> type, T service) {
+        services.put(type, service);
+        return this;
+    }
+
+    /**
+     * Retrieve a registered service.
+     *
+     * @param type the class the service has been registered for.
+     * @param <T>  the type of service.
+     * @return the service instance, or null if none has been registered.
+     */
+    public <T> T get(Class<T> type) {
+        return type.cast(services.get(type));
+    }
+
+    /**
+     * Release all the services and resources of this context.
+     */
+    public void dispose() {
+        services.clear();
+        resourceManager.dispose();
+    }
+}
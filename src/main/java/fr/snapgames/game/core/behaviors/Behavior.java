@@ -1,6 +1,7 @@
 package fr.snapgames.game.core.behaviors;
 
 import fr.snapgames.game.core.Game;
+import fr.snapgames.game.core.math.Collision;
 
 import java.awt.*;
 
@@ -19,4 +20,14 @@ public interface Behavior<T> {
 
     default void draw(Game game, Graphics2D g, T entity) {
     }
+
+    /**
+     * Called when the entity collides with another collidable entity, before the collision response.
+     *
+     * @param game      the parent {@link Game}.
+     * @param entity    the entity this behavior is attached to.
+     * @param collision the contact, the other entity being provided by {@link Collision#getOther}.
+     */
+    default void onCollision(Game game, T entity, Collision collision) {
+    }
 }
@@ -1,5 +1,6 @@
 package fr.snapgames.game.core.configuration;
 
+import fr.snapgames.game.core.math.Integrator;
 import fr.snapgames.game.core.math.Material;
 import fr.snapgames.game.core.math.Vector2D;
 import fr.snapgames.game.core.utils.StringUtils;
@@ -46,6 +47,51 @@ public enum ConfigAttribute implements IConfigAttribute {
             "if debug>0, set a number of frame to execute before exit (test mode)",
             -1,
             Integer::valueOf),
+    /**
+     * seed of the game random generator.
+     */
+    GAME_RANDOM_SEED(
+            "seed",
+            "game.random.seed",
+            "set the seed of the game random generator (0 for a new seed at each run)",
+            0L,
+            Long::valueOf),
+    /**
+     * file to record the key transitions of each tick into.
+     */
+    INPUT_RECORD_FILE(
+            "inputRecord",
+            "game.input.record",
+            "set the path of the file to record the keyboard input of each tick into",
+            "",
+            v -> v),
+    /**
+     * file to replay the key transitions of each tick from.
+     */
+    INPUT_REPLAY_FILE(
+            "inputReplay",
+            "game.input.replay",
+            "set the path of a recorded keyboard input file to be replayed instead of the keyboard",
+            "",
+            v -> v),
+    /**
+     * number of samples kept to compute the game loop phases timing statistics.
+     */
+    MONITORING_TIMING_SAMPLES(
+            "timingSamples",
+            "game.monitoring.timing.samples",
+            "set the number of frames kept to compute the timing percentiles of the game loop phases",
+            1024,
+            Integer::valueOf),
+    /**
+     * flag to publish the game loop timing statistics through JMX.
+     */
+    MONITORING_JMX(
+            "jmx",
+            "game.monitoring.jmx",
+            "Publish the game loop phases timing statistics as JMX MBeans",
+            true,
+            Boolean::valueOf),
     /**
      * the FPS required for looping and rendering process.
      */
@@ -55,6 +101,51 @@ public enum ConfigAttribute implements IConfigAttribute {
             "set the frame per second for the render engine",
             60,
             Integer::valueOf),
+    /**
+     * flag to run the game without any window (simulation mode).
+     */
+    GAME_HEADLESS(
+            "headless",
+            "game.headless",
+            "Run the game loop without any Window, as a simulation",
+            false,
+            Boolean::valueOf),
+    /**
+     * flag to keep the rendering into the {@link fr.snapgames.game.core.graphics.Renderer} buffer in headless mode.
+     */
+    GAME_HEADLESS_RENDER(
+            "headlessRender",
+            "game.headless.render",
+            "In headless mode, keep drawing the scene into the renderer buffer",
+            false,
+            Boolean::valueOf),
+    /**
+     * the loop rate in headless mode.
+     */
+    GAME_HEADLESS_TICK_RATE(
+            "headlessTickRate",
+            "game.headless.tick.rate",
+            "In headless mode, set the number of loops per second (0 to run as fast as possible)",
+            0,
+            Integer::valueOf),
+    /**
+     * duration of the busy wait ending the wait for each frame.
+     */
+    RENDER_PACER_SPIN(
+            "pacerSpin",
+            "game.render.pacer.spin",
+            "set the duration in microseconds of the busy wait ending each frame wait",
+            200,
+            Integer::valueOf),
+    /**
+     * flag to draw frames on a dedicated thread, in parallel of the update.
+     */
+    RENDER_PIPELINED(
+            "pipelined",
+            "game.render.pipelined",
+            "Draw the frame N on a dedicated render thread while the frame N+1 is updated",
+            false,
+            Boolean::valueOf),
     /**
      * scale ratio between Window and rendering buffer.
      */
@@ -97,6 +188,108 @@ public enum ConfigAttribute implements IConfigAttribute {
             "set the size of the play area: [width]x[height]",
             new Dimension(320, 200),
             StringUtils::toDimension),
+    PHYSIC_GRID_CELL_SIZE(
+            "physicGridCellSize",
+            "game.physic.grid.cell.size",
+            "set the size of the cells of the grid indexing the influencers in the play area",
+            64,
+            Integer::valueOf
+    ),
+    /**
+     * flag to activate the detection and response of the collisions between the collidable entities.
+     */
+    PHYSIC_COLLISION(
+            "physicCollision",
+            "game.physic.collision",
+            "Activate the collisions between the entities set as collidable",
+            true,
+            Boolean::valueOf
+    ),
+    /**
+     * ratio between the update elapsed time and the simulated time.
+     */
+    PHYSIC_TIME_FACTOR(
+            "physicTimeFactor",
+            "game.physic.time.factor",
+            "set the ratio between the update elapsed time and the physic simulation time",
+            0.45,
+            Double::valueOf
+    ),
+    PHYSIC_INTEGRATOR(
+            "physicIntegrator",
+            "game.physic.integrator",
+            "set the integration scheme: SEMI_IMPLICIT_EULER, VELOCITY_VERLET or RK2",
+            Integrator.SEMI_IMPLICIT_EULER,
+            v -> Integrator.valueOf(v.toUpperCase())
+    ),
+    PHYSIC_SUB_STEPS(
+            "physicSubSteps",
+            "game.physic.sub.steps",
+            "set the number of integration steps for each physic update",
+            1,
+            Integer::valueOf
+    ),
+    /**
+     * number of updates a body must rest before falling asleep.
+     */
+    PHYSIC_SLEEP_DELAY(
+            "physicSleepDelay",
+            "game.physic.sleep.delay",
+            "set the number of updates a body must stay below game.physic.world.speed.min and "
+                    + "game.physic.world.acceleration.min before sleeping (0 to never sleep)",
+            60,
+            Integer::valueOf
+    ),
+    /**
+     * flag to activate the fixed point integration and the state hash, for lockstep and replay verification.
+     */
+    PHYSIC_DETERMINISTIC(
+            "physicDeterministic",
+            "game.physic.deterministic",
+            "Activate the fixed point integration (semi-implicit Euler) and the state hash of each physic update",
+            false,
+            Boolean::valueOf
+    ),
+    /**
+     * flag to integrate the bodies far from the camera less often (physic level of detail).
+     */
+    PHYSIC_LOD(
+            "physicLod",
+            "game.physic.lod",
+            "Activate the integration of the bodies far from the camera viewport every 2nd, 4th or 8th update, "
+                    + "see game.physic.lod.distances",
+            false,
+            Boolean::valueOf
+    ),
+    /**
+     * the 3 ascending distances to the camera viewport of the physic level of detail, a malformed value keeping the
+     * default ones.
+     */
+    PHYSIC_LOD_DISTANCES(
+            "physicLodDistances",
+            "game.physic.lod.distances",
+            "set the 3 ascending distances to the camera viewport beyond which a body is integrated every 2nd, 4th "
+                    + "and 8th update: [d2],[d4],[d8]",
+            new double[]{160.0, 320.0, 640.0},
+            v -> IConfigAttribute.stringToAscendingDoubles(v, 3, new double[]{160.0, 320.0, 640.0})
+    ),
+    /**
+     * flag to integrate the entities on several cores.
+     */
+    PHYSIC_PARALLEL(
+            "physicParallel",
+            "game.physic.parallel",
+            "Activate the integration of the entities in parallel, by chunks of game.physic.parallel.chunk entities",
+            false,
+            Boolean::valueOf
+    ),
+    PHYSIC_PARALLEL_CHUNK(
+            "physicParallelChunk",
+            "game.physic.parallel.chunk",
+            "set the number of entities integrated by each parallel task",
+            512,
+            Integer::valueOf
+    ),
     PHYSIC_UPS(
             "physicUps",
             "game.physic.ups",
@@ -104,6 +297,16 @@ public enum ConfigAttribute implements IConfigAttribute {
             60,
             Integer::valueOf
     ),
+    /**
+     * flag to activate the fixed time step simulation in the game loop.
+     */
+    PHYSIC_FIXED_STEP(
+            "physicFixedStep",
+            "game.physic.fixed.step",
+            "Activate the fixed time step update at the game.physic.ups rate, rendering being interpolated",
+            false,
+            Boolean::valueOf
+    ),
     PHYSIC_GRAVITY(
             "physicGravity",
             "game.physic.world.gravity",
@@ -10,6 +10,7 @@ import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 /**
  * The {@link Configuration} component is used to manage a list of {@link IConfigAttribute} and maintain their value into
@@ -103,7 +104,15 @@ public class Configuration {
         boolean found = false;
         for (IConfigAttribute ca : attributes) {
             if (ca.getAttrName().equals(kv[0]) || ca.getConfigKey().equals(kv[0])) {
-                configurationValues.put(ca, ca.getAttrParser().apply(kv[1]));
+                try {
+                    configurationValues.put(ca, ca.getAttrParser().apply(kv[1]));
+                } catch (RuntimeException e) {
+                    // a malformed value keeps the current (default) value instead of stopping the game.
+                    logger.log(Level.SEVERE, "Unable to parse {0}={1} : {2}", new Object[]{
+                            kv[0],
+                            kv[1],
+                            e.getMessage()});
+                }
                 found = true;
                 break;
             }
@@ -131,10 +140,21 @@ public class Configuration {
             logger.log(Level.INFO, "- {0} : {1} (default value is {2})", new Object[]{
                     ca.getAttrName(),
                     ca.getAttrDescription(),
-                    ca.getDefaultValue().toString()});
+                    toString(ca.getDefaultValue())});
         });
     }
 
+    /**
+     * @return the value as it would be written in the configuration file for an array of double, else its
+     * {@link Object#toString()}.
+     */
+    private static String toString(Object value) {
+        if (value instanceof double[] values) {
+            return Arrays.stream(values).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        }
+        return value.toString();
+    }
+
     /**
      * Apply an array of {@link IConfigAttribute} as values for the {@link Configuration}.
      *
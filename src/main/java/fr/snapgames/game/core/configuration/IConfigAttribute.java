@@ -3,6 +3,7 @@ package fr.snapgames.game.core.configuration;
 import fr.snapgames.game.core.math.Material;
 import fr.snapgames.game.core.math.Vector2D;
 
+import java.util.Arrays;
 import java.util.function.Function;
 
 /**
@@ -44,6 +45,45 @@ public interface IConfigAttribute {
                 Double.parseDouble(interpretedValue[1]));
     }
 
+    /**
+     * Convert String "[double],[double],..." to an array of double.
+     *
+     * @param value        the formatted String value to be converted
+     * @param defaultValue the default value if no conversion possible.
+     * @return the array of double values corresponding to the converted string.
+     */
+    static double[] stringToDoubles(String value, double[] defaultValue) {
+        if (value == null || value.equals("")) {
+            return defaultValue;
+        }
+        return Arrays.stream(value.split(",")).mapToDouble(v -> Double.parseDouble(v.trim())).toArray();
+    }
+
+    /**
+     * Convert String "[double],[double],..." to an array of a fixed number of strictly ascending double values.
+     *
+     * @param value        the formatted String value to be converted
+     * @param count        the number of values expected.
+     * @param defaultValue the default value if no conversion possible.
+     * @return the array of double values corresponding to the converted string.
+     * @throws IllegalArgumentException if the number of values is not the expected one or if they are not
+     *                                  ascending.
+     */
+    static double[] stringToAscendingDoubles(String value, int count, double[] defaultValue) {
+        double[] values = stringToDoubles(value, defaultValue);
+        if (values.length != count) {
+            throw new IllegalArgumentException(
+                    String.format("%d values are expected instead of %d", count, values.length));
+        }
+        for (int i = 1; i < values.length; i++) {
+            if (!(values[i] > values[i - 1])) {
+                throw new IllegalArgumentException(
+                        String.format("the values must be ascending (%s <= %s)", values[i], values[i - 1]));
+            }
+        }
+        return values;
+    }
+
     /**
      * Convert String "mat([String],[elasticity],[density],[friction])" to {@link Material}.
      *
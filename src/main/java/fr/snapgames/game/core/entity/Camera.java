@@ -14,6 +14,7 @@ import java.awt.geom.Rectangle2D;
 public class Camera {
     public String name;
     public Vector2D position;
+    public Vector2D previousPosition;
     public GameEntity target;
     public double rotation = 0.0f, tween = 0.0f;
     public Rectangle2D viewport;
@@ -21,6 +22,7 @@ public class Camera {
     public Camera(String name) {
         this.name = name;
         position = new Vector2D(0, 0);
+        previousPosition = new Vector2D(0, 0);
         target = null;
     }
 
@@ -55,7 +57,35 @@ public class Camera {
         g.translate(position.x, position.y);
     }
 
+    /**
+     * Apply the Camera translation and rotation, interpolated between the previous and the current position.
+     *
+     * @param g     the Graphics2D API to be transformed.
+     * @param alpha the interpolation factor, from 0.0 (previous position) to 1.0 (current position).
+     */
+    public void preDraw(Graphics2D g, double alpha) {
+        g.translate(-interpolate(previousPosition.x, position.x, alpha), -interpolate(previousPosition.y, position.y, alpha));
+        g.rotate(-rotation);
+    }
+
+    /**
+     * Revert the transformation applied by {@link Camera#preDraw(Graphics2D, double)}.
+     *
+     * @param g     the Graphics2D API to be restored.
+     * @param alpha the same interpolation factor as the one used for preDraw.
+     */
+    public void postDraw(Graphics2D g, double alpha) {
+        g.rotate(rotation);
+        g.translate(interpolate(previousPosition.x, position.x, alpha), interpolate(previousPosition.y, position.y, alpha));
+    }
+
+    private static double interpolate(double previous, double current, double alpha) {
+        return previous + (current - previous) * alpha;
+    }
+
     public void update(double dt) {
+        this.previousPosition.x = this.position.x;
+        this.previousPosition.y = this.position.y;
         this.position.x += Math
                 .ceil((target.position.x + (target.size.x * 0.5) - ((viewport.getWidth()) * 0.5) - this.position.x)
                         * tween * Math.min(dt, 10));
@@ -0,0 +1,81 @@
+package fr.snapgames.game.core.entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@link EntityHierarchy} is the flattened list of all the descendants of a {@link GameEntity}, in depth-first
+ * order: each entity is followed by its whole subtree, so that the physic and rendering passes over a hierarchy
+ * are linear scans, a parent being always visited before its children.
+ * <p>
+ * The size of the subtree of each node is kept to skip it in one step:
+ *
+ * <pre>
+ * EntityHierarchy h = entity.getHierarchy();
+ * for (int i = 0; i < h.size(); i++) {
+ *     GameEntity node = h.get(i);
+ *     if (!node.isActive()) {
+ *         // skip the node and all its descendants.
+ *         i += h.getSubtreeSize(i);
+ *     }
+ * }
+ * </pre>
+ * <p>
+ * The hierarchy is rebuilt by its owner only when children have been added to or removed from its subtree, reusing
+ * its storage.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class EntityHierarchy {
+    private final List<GameEntity> nodes = new ArrayList<>();
+    private int[] subtreeSizes = new int[16];
+
+    /**
+     * Rebuild the flattened list of the descendants of an entity.
+     *
+     * @param root the {@link GameEntity} owning the hierarchy (not part of the list).
+     */
+    void rebuild(GameEntity root) {
+        nodes.clear();
+        collect(root);
+    }
+
+    private void collect(GameEntity parent) {
+        List<GameEntity> children = parent.getChild();
+        for (int c = 0; c < children.size(); c++) {
+            GameEntity child = children.get(c);
+            int index = nodes.size();
+            nodes.add(child);
+            if (index >= subtreeSizes.length) {
+                subtreeSizes = Arrays.copyOf(subtreeSizes, subtreeSizes.length * 2);
+            }
+            collect(child);
+            subtreeSizes[index] = nodes.size() - index - 1;
+        }
+    }
+
+    /**
+     * @return the number of descendants.
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @param i the index of the node in the depth-first order.
+     * @return the descendant at this index.
+     */
+    public GameEntity get(int i) {
+        return nodes.get(i);
+    }
+
+    /**
+     * @param i the index of the node in the depth-first order.
+     * @return the number of descendants of this node, following it in the list.
+     */
+    public int getSubtreeSize(int i) {
+        return subtreeSizes[i];
+    }
+}
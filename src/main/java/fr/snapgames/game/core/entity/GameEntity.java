@@ -6,10 +6,13 @@ import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import fr.snapgames.game.core.behaviors.Behavior;
 import fr.snapgames.game.core.math.Material;
@@ -23,9 +26,19 @@ import fr.snapgames.game.core.math.Vector2D;
  * @since 0.0.1
  */
 public class GameEntity {
-    public static long index = 0;
-    public String name = "noname" + (index++);
+    private static final AtomicLong nonameIndex = new AtomicLong(0);
+    /**
+     * Identifier of the entity, unique in its {@link fr.snapgames.game.core.GameContext}, set when the entity is
+     * added to a {@link fr.snapgames.game.core.scene.Scene} (0 before).
+     */
+    public long id = 0;
+    public String name;
     public Vector2D position = new Vector2D(0, 0);
+    /**
+     * Position before the last physic update, used by the {@link fr.snapgames.game.core.graphics.Renderer}
+     * to interpolate the rendered position between two fixed updates.
+     */
+    public Vector2D previousPosition = new Vector2D(0, 0);
     public Vector2D speed = new Vector2D(0, 0);
     public Vector2D acceleration = new Vector2D(0, 0);
     public Vector2D size = new Vector2D(16, 16);
@@ -33,7 +46,15 @@ public class GameEntity {
     public double rotation = 0.0;
 
     public boolean stickToCamera = false;
-    public List<Vector2D> forces = new ArrayList<>();
+    /**
+     * Sum of the forces applied to the entity since the last physic update: the behaviors accumulate their forces
+     * into it with {@link GameEntity#addForce(double, double)}, and the
+     * {@link fr.snapgames.game.core.math.PhysicEngine} resets it once integrated.
+     */
+    public double forceX = 0;
+    public double forceY = 0;
+    // detail of the named forces, only kept when the force debug is on.
+    private Map<String, Vector2D> namedForces;
 
     public Color color = Color.RED;
     public Color shadowColor;
@@ -48,7 +69,22 @@ public class GameEntity {
     /**
      * Child entities for this one. Mainly used by {@link ParticlesEntity}.
      */
-    private List<GameEntity> child = new ArrayList<>();
+    private final List<GameEntity> child = new ArrayList<>();
+    private final List<GameEntity> childView = Collections.unmodifiableList(child);
+    private GameEntity parent;
+    // flattened descendants, rebuilt when a child is added or removed in the subtree.
+    private final EntityHierarchy hierarchy = new EntityHierarchy();
+    private boolean hierarchyDirty = false;
+    /**
+     * Offset of this entity from its parent: a child with a local position follows its parent, and its world
+     * position is only recomputed when the parent moves. A child without local position (e.g. a particle) lives
+     * in world space and is simulated on its own.
+     */
+    public Vector2D localPosition;
+    // parent position the world position has been computed from.
+    private double parentX;
+    private double parentY;
+    private boolean transformDirty = false;
 
     public BufferedImage image;
 
@@ -59,11 +95,35 @@ public class GameEntity {
     public Material material;
     public PhysicType physicType = PhysicType.DYNAMIC;
     public double mass;
+    public boolean collidable = false;
+    /**
+     * a fast entity is constrained to the world from its whole move during an update (continuous detection).
+     */
+    public boolean fast = false;
+    /**
+     * a sleeping entity is not integrated by the {@link fr.snapgames.game.core.math.PhysicEngine} until it is woken
+     * up, and restingTicks counts the updates it has been resting before sleeping.
+     */
+    public boolean sleeping = false;
+    public int restingTicks = 0;
+    /**
+     * updates and time elapsed since the last integration of the entity, more than one update for a body far from
+     * the camera with the physic level of detail (see
+     * {@link fr.snapgames.game.core.configuration.ConfigAttribute#PHYSIC_LOD}).
+     */
+    public int lodTicks = 0;
+    public double lodElapsed = 0;
 
     public int direction;
     public int contact;
 
     private Class<?> renderedByPlugin;
+    // notified when the physic role (physic type or camera sticking) changes.
+    private Consumer<GameEntity> physicTypeListener;
+    // notified when the entity is deactivated.
+    private Consumer<GameEntity> deactivationListener;
+    // notified when the entity becomes collidable or not.
+    private Consumer<GameEntity> collidableListener;
 
     private int layer;
     private int priority;
@@ -75,7 +135,7 @@ public class GameEntity {
      * @param name Name of the new entity.
      */
     public GameEntity(String name) {
-        this.name = name;
+        this.name = Optional.ofNullable(name).orElseGet(() -> "noname" + nonameIndex.incrementAndGet());
         this.active = true;
         this.physicType = PhysicType.DYNAMIC;
         this.material = Material.DEFAULT;
@@ -91,12 +151,86 @@ public class GameEntity {
     }
 
     public GameEntity setPosition(Vector2D pos) {
-        this.position = pos;
+        // the position is owned by the entity and updated in place by the physic engine: only copy the values.
+        return setPosition(pos.x, pos.y);
+    }
+
+    public GameEntity setPosition(double x, double y) {
+        this.position.set(x, y);
+        // a forced position must not be interpolated from the old one.
+        this.previousPosition.set(x, y);
+        wakeUp();
+        if (!child.isEmpty()) {
+            updateTransforms();
+        }
+        return this;
+    }
+
+    /**
+     * Attach this entity to its parent at an offset: its world position follows the parent one.
+     *
+     * @param x the horizontal offset from the parent position.
+     * @param y the vertical offset from the parent position.
+     * @return the updated {@link GameEntity}.
+     */
+    public GameEntity setLocalPosition(double x, double y) {
+        if (Optional.ofNullable(localPosition).isPresent()) {
+            localPosition.set(x, y);
+        } else {
+            localPosition = new Vector2D(x, y);
+        }
+        transformDirty = true;
+        return this;
+    }
+
+    /**
+     * Recompute the world position of all the attached descendants (see {@link GameEntity#localPosition}) whose
+     * parent has moved since the previous call, or whose offset has changed. The descendants are visited in the
+     * {@link EntityHierarchy} order, so a parent is always up to date before its children.
+     */
+    public void updateTransforms() {
+        EntityHierarchy h = getHierarchy();
+        for (int i = 0; i < h.size(); i++) {
+            h.get(i).updateTransform();
+        }
+    }
+
+    private void updateTransform() {
+        if (Optional.ofNullable(localPosition).isEmpty()) {
+            return;
+        }
+        if (transformDirty || parent.position.x != parentX || parent.position.y != parentY) {
+            parentX = parent.position.x;
+            parentY = parent.position.y;
+            position.set(parentX + localPosition.x, parentY + localPosition.y);
+            previousPosition.set(parent.previousPosition.x + localPosition.x,
+                    parent.previousPosition.y + localPosition.y);
+            updateBox();
+            transformDirty = false;
+        }
+    }
+
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    /**
+     * Wake up the entity, to be integrated again by the {@link fr.snapgames.game.core.math.PhysicEngine}.
+     *
+     * @return the updated {@link GameEntity}.
+     */
+    public GameEntity wakeUp() {
+        this.sleeping = false;
+        this.restingTicks = 0;
         return this;
     }
 
     public GameEntity setStickToCamera(boolean flag) {
+        boolean changed = this.stickToCamera != flag;
         this.stickToCamera = flag;
+        if (changed) {
+            notifyPhysicTypeChange();
+        }
         return this;
     }
 
@@ -132,7 +266,8 @@ public class GameEntity {
     }
 
     public GameEntity setSpeed(Vector2D speed) {
-        this.speed = speed;
+        this.speed.set(speed);
+        wakeUp();
         return this;
     }
 
@@ -148,7 +283,7 @@ public class GameEntity {
 
     /**
      * Add internal debug information used by
-     * {@link fr.snapgames.game.core.graphics.Renderer#drawEntitesDebug(Graphics2D)}
+     * {@link fr.snapgames.game.core.graphics.Renderer#drawEntitesDebug(Graphics2D, Collection, Camera, double)}
      * to display realtime information.
      *
      * @return the corresponding {@link Collection} of {@link String} containing the
@@ -160,6 +295,10 @@ public class GameEntity {
         ls.add(String.format("pos: %04.2f,%04.2f", this.position.x, this.position.y));
         ls.add(String.format("spd: %04.2f,%04.2f", this.speed.x, this.speed.y));
         ls.add(String.format("acc: %04.2f,%04.2f", this.acceleration.x, this.acceleration.y));
+        ls.add(String.format("frc: %04.2f,%04.2f", this.forceX, this.forceY));
+        if (Optional.ofNullable(namedForces).isPresent()) {
+            namedForces.forEach((n, f) -> ls.add(String.format(" %s: %04.2f,%04.2f", n, f.x, f.y)));
+        }
         ls.add(String.format("mat: %s", this.material));
         return ls;
     }
@@ -170,12 +309,65 @@ public class GameEntity {
     }
 
     public GameEntity addChild(GameEntity ge) {
+        if (Optional.ofNullable(ge.parent).isPresent()) {
+            ge.parent.removeChild(ge);
+        }
         child.add(ge);
+        ge.parent = this;
+        ge.transformDirty = true;
+        invalidateHierarchy();
+        return this;
+    }
+
+    public GameEntity removeChild(GameEntity ge) {
+        if (child.remove(ge)) {
+            ge.parent = null;
+            invalidateHierarchy();
+        }
         return this;
     }
 
+    public GameEntity clearChildren() {
+        if (!child.isEmpty()) {
+            for (int i = 0; i < child.size(); i++) {
+                child.get(i).parent = null;
+            }
+            child.clear();
+            invalidateHierarchy();
+        }
+        return this;
+    }
+
+    /**
+     * @return the read-only list of the direct children, see {@link GameEntity#addChild(GameEntity)}.
+     */
     public List<GameEntity> getChild() {
-        return child;
+        return childView;
+    }
+
+    public boolean hasChildren() {
+        return !child.isEmpty();
+    }
+
+    public GameEntity getParent() {
+        return parent;
+    }
+
+    /**
+     * @return all the descendants of this entity in depth-first order, see {@link EntityHierarchy}.
+     */
+    public EntityHierarchy getHierarchy() {
+        if (hierarchyDirty) {
+            hierarchy.rebuild(this);
+            hierarchyDirty = false;
+        }
+        return hierarchy;
+    }
+
+    private void invalidateHierarchy() {
+        for (GameEntity e = this; Optional.ofNullable(e).isPresent(); e = e.parent) {
+            e.hierarchyDirty = true;
+        }
     }
 
     public GameEntity setColor(Color color) {
@@ -217,7 +409,23 @@ public class GameEntity {
     }
 
     public GameEntity setActive(boolean active) {
+        boolean deactivated = this.active && !active;
         this.active = active;
+        if (deactivated && Optional.ofNullable(deactivationListener).isPresent()) {
+            deactivationListener.accept(this);
+        }
+        return this;
+    }
+
+    /**
+     * Set the lifetime of the entity: it is deactivated by the {@link fr.snapgames.game.core.time.Scheduler} when
+     * this duration is elapsed after its addition to the scene.
+     *
+     * @param duration the duration in milliseconds of game time (-1 for an unlimited lifetime).
+     * @return the updated {@link GameEntity}.
+     */
+    public GameEntity setDuration(long duration) {
+        this.duration = duration;
         return this;
     }
 
@@ -256,21 +464,133 @@ public class GameEntity {
     /**
      * Set the {@link PhysicType} for this GameENtity.
      *
-     * @param pt the {@link PhysicType#STATIC} or {@link PhysicType#DYNAMIC}.
+     * @param pt the {@link PhysicType#STATIC}, {@link PhysicType#DYNAMIC} or {@link PhysicType#KINEMATIC}.
      * @return the updated {@link GameEntity}.
      */
     public GameEntity setPhysicType(PhysicType pt) {
+        boolean changed = this.physicType != pt;
         this.physicType = pt;
+        if (changed) {
+            notifyPhysicTypeChange();
+        }
         return this;
     }
 
+    /**
+     * Set the listener notified when the {@link PhysicType} or the camera sticking of this entity changes, used by
+     * the {@link fr.snapgames.game.core.math.PhysicEngine} to move it to the right bodies bucket.
+     *
+     * @param listener the listener (null to remove it).
+     */
+    public void setPhysicTypeListener(Consumer<GameEntity> listener) {
+        this.physicTypeListener = listener;
+    }
+
+    /**
+     * Set the listener notified when this {@link GameEntity} is deactivated, used by the
+     * {@link fr.snapgames.game.core.math.PhysicEngine} to wake up the bodies it was supporting.
+     *
+     * @param listener the listener (null to remove it).
+     */
+    public void setDeactivationListener(Consumer<GameEntity> listener) {
+        this.deactivationListener = listener;
+    }
+
+    /**
+     * Set the listener notified when this {@link GameEntity} becomes collidable or not, used by the
+     * {@link fr.snapgames.game.core.math.PhysicEngine} to add it to or remove it from its
+     * {@link fr.snapgames.game.core.math.CollisionSystem}.
+     *
+     * @param listener the listener (null to remove it).
+     */
+    public void setCollidableListener(Consumer<GameEntity> listener) {
+        this.collidableListener = listener;
+    }
+
+    private void notifyPhysicTypeChange() {
+        if (Optional.ofNullable(physicTypeListener).isPresent()) {
+            physicTypeListener.accept(this);
+        }
+    }
+
+    /**
+     * Define if this {@link GameEntity} collides with the other collidable ones, see
+     * {@link fr.snapgames.game.core.math.CollisionSystem}.
+     *
+     * @param flag true to detect and solve the collisions of this entity.
+     * @return the updated {@link GameEntity}.
+     */
+    public GameEntity setCollidable(boolean flag) {
+        boolean changed = this.collidable != flag;
+        this.collidable = flag;
+        if (changed && Optional.ofNullable(collidableListener).isPresent()) {
+            collidableListener.accept(this);
+        }
+        return this;
+    }
+
+    public boolean isCollidable() {
+        return collidable;
+    }
+
+    /**
+     * Flag this {@link GameEntity} as a fast one: its whole move during an update is checked against the world
+     * play area sides and the influencers, to not pass through them with large time steps.
+     *
+     * @param flag true to activate the continuous detection for this entity.
+     * @return the updated {@link GameEntity}.
+     */
+    public GameEntity setFast(boolean flag) {
+        this.fast = flag;
+        return this;
+    }
+
+    public boolean isFast() {
+        return fast;
+    }
+
     /**
      * Compute the box for this GameEntity according to its position and size.
      *
      * @see Rectangle2D
      */
     public void updateBox() {
-        this.box = new Rectangle2D.Double(position.x, position.y, size.x, size.y);
+        if (Optional.ofNullable(box).isPresent()) {
+            box.setRect(position.x, position.y, size.x, size.y);
+        } else {
+            this.box = new Rectangle2D.Double(position.x, position.y, size.x, size.y);
+        }
+    }
+
+    /**
+     * Add a force to the {@link GameEntity}.
+     *
+     * @param fx the horizontal component of the force.
+     * @param fy the vertical component of the force.
+     * @return the updated {@link GameEntity}.
+     */
+    public GameEntity addForce(double fx, double fy) {
+        this.forceX += fx;
+        this.forceY += fy;
+        return this;
+    }
+
+    /**
+     * Add a named force to the {@link GameEntity}: the name is only used to detail the forces in the debug
+     * information, when {@link GameEntity#setForceDebug(boolean)} is on.
+     *
+     * @param name the name of the force (e.g. "wind").
+     * @param fx   the horizontal component of the force.
+     * @param fy   the vertical component of the force.
+     * @return the updated {@link GameEntity}.
+     */
+    public GameEntity addForce(String name, double fx, double fy) {
+        this.forceX += fx;
+        this.forceY += fy;
+        if (Optional.ofNullable(namedForces).isPresent()) {
+            namedForces.computeIfAbsent(name, n -> new Vector2D()).addLocal(fx, fy);
+        }
+        return this;
     }
 
     /**
@@ -280,8 +600,7 @@ public class GameEntity {
      * @return the updated {@link GameEntity}.
      */
     public GameEntity addForce(Vector2D force) {
-        this.forces.add(force);
-        return this;
+        return addForce(force.x, force.y);
     }
 
     /**
@@ -291,10 +610,100 @@ public class GameEntity {
      * @return the updated {@link GameEntity}.
      */
     public GameEntity addForces(List<Vector2D> forces) {
-        this.forces.addAll(forces);
+        for (int i = 0; i < forces.size(); i++) {
+            addForce(forces.get(i));
+        }
         return this;
     }
 
+    /**
+     * Reset the accumulated forces.
+     */
+    public void clearForces() {
+        this.forceX = 0;
+        this.forceY = 0;
+        if (Optional.ofNullable(namedForces).isPresent()) {
+            namedForces.values().forEach(f -> f.set(0, 0));
+        }
+    }
+
+    /**
+     * Keep (or not) the detail of the named forces, to be displayed with the debug information.
+     *
+     * @param flag true to keep the detail of the named forces.
+     * @return the updated {@link GameEntity}.
+     */
+    public GameEntity setForceDebug(boolean flag) {
+        this.namedForces = flag ? new HashMap<>() : null;
+        return this;
+    }
+
+    /**
+     * Copy all the attributes required to draw this {@link GameEntity} into the target one, used to freeze the
+     * rendering state of a frame into a {@link fr.snapgames.game.core.graphics.RenderSnapshot}.
+     * <p>
+     * Subclasses having specific rendering attributes must override this method to copy them too.
+     *
+     * @param target the {@link GameEntity} receiving the rendering attributes.
+     */
+    public void copyRenderStateTo(GameEntity target) {
+        target.name = name;
+        target.position.x = position.x;
+        target.position.y = position.y;
+        target.previousPosition.x = previousPosition.x;
+        target.previousPosition.y = previousPosition.y;
+        target.speed.x = speed.x;
+        target.speed.y = speed.y;
+        target.acceleration.x = acceleration.x;
+        target.acceleration.y = acceleration.y;
+        target.forceX = forceX;
+        target.forceY = forceY;
+        if (Optional.ofNullable(namedForces).isPresent()) {
+            // the detail is copied, as it is updated while the copy is drawn (debug only).
+            if (Optional.ofNullable(target.namedForces).isEmpty()) {
+                target.namedForces = new HashMap<>();
+            }
+            target.namedForces.clear();
+            namedForces.forEach((n, f) -> target.namedForces.put(n, new Vector2D(f.x, f.y)));
+        } else {
+            target.namedForces = null;
+        }
+        target.size.x = size.x;
+        target.size.y = size.y;
+        if (Optional.ofNullable(box).isPresent()) {
+            target.box.setRect(box);
+        }
+        target.type = type;
+        target.rotation = rotation;
+        target.stickToCamera = stickToCamera;
+        target.color = color;
+        target.shadowColor = shadowColor;
+        target.shadowWidth = shadowWidth;
+        target.borderColor = borderColor;
+        target.borderWidth = borderWidth;
+        target.image = image;
+        target.active = active;
+        target.material = material;
+        target.physicType = physicType;
+        target.direction = direction;
+        target.layer = layer;
+        target.priority = priority;
+        // the attributes are copied, as the live ones are updated while the copy is drawn. The behaviors are not,
+        // their draw hooks being only called on live entities.
+        target.attributes.clear();
+        target.attributes.putAll(attributes);
+    }
+
+    /**
+     * Retrieve from a previously drawn copy the attributes computed at rendering time (e.g. the size of a text).
+     * Called before {@link GameEntity#copyRenderStateTo(GameEntity)} with a copy that is no more drawn.
+     *
+     * @param drawn the {@link GameEntity} copy drawn from a {@link fr.snapgames.game.core.graphics.RenderSnapshot}.
+     */
+    public void pullRenderStateFrom(GameEntity drawn) {
+        // nothing is computed at rendering time for a default entity.
+    }
+
     @Override
     public String toString() {
         return this.getClass().getSimpleName() + ":" + this.name;
@@ -76,12 +76,25 @@ public class Light extends GameEntity {
                  final double radius,
                  final float intensity) {
         this(name);
-        setPosition(new Vector2D(x, y));
+        setPosition(x, y);
         setSize(new Vector2D(radius, radius));
         this.intensity = intensity;
         this.lightType = LightType.SPOT;
     }
 
+    @Override
+    public void copyRenderStateTo(GameEntity t) {
+        super.copyRenderStateTo(t);
+        if (t instanceof Light l) {
+            l.intensity = intensity;
+            l.dIntensity = dIntensity;
+            l.lightType = lightType;
+            l.target = target;
+            l.dist = dist;
+            l.colors = colors;
+        }
+    }
+
     public LightType getLightType() {
         return lightType;
     }
@@ -34,6 +34,23 @@ public class TextEntity extends GameEntity {
         return this;
     }
 
+    @Override
+    public void copyRenderStateTo(GameEntity target) {
+        super.copyRenderStateTo(target);
+        if (target instanceof TextEntity te) {
+            te.text = text;
+            te.font = font;
+        }
+    }
+
+    @Override
+    public void pullRenderStateFrom(GameEntity drawn) {
+        // the text size is measured by the renderer.
+        if (drawn instanceof TextEntity te && te.text == text && te.font == font) {
+            size.x = te.size.x;
+            size.y = te.size.y;
+        }
+    }
 
     @Override
     public Collection<String> getDebugInfo() {
@@ -0,0 +1,129 @@
+package fr.snapgames.game.core.graphics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import fr.snapgames.game.core.entity.Camera;
+import fr.snapgames.game.core.entity.GameEntity;
+import fr.snapgames.game.core.monitoring.StatsRegistry;
+
+/**
+ * The {@link RenderSnapshot} is a frozen copy of the rendering state of a frame: the {@link GameEntity} to be drawn
+ * with their position, size, colors, layer, image, the {@link Camera} and the statistics.
+ * <p>
+ * It is used by the pipelined mode of the {@link fr.snapgames.game.core.Game} loop: the update thread captures the
+ * state of frame N into one snapshot, while the render thread draws frame N-1 from the other one.
+ * The two snapshots are swapped between the two threads, so that a snapshot is only accessed by one thread at a
+ * time.
+ * <p>
+ * The entity copies are instances of the same class than the original ones (to be drawn by the same
+ * {@link fr.snapgames.game.core.graphics.plugins.RendererPlugin}), created once and updated at each capture
+ * through {@link GameEntity#copyRenderStateTo(GameEntity)}.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class RenderSnapshot {
+    private Map<GameEntity, GameEntity> copies = new IdentityHashMap<>();
+    private Map<GameEntity, GameEntity> previousCopies = new IdentityHashMap<>();
+    private final List<GameEntity> entities = new ArrayList<>();
+    private final StatsRegistry stats = new StatsRegistry();
+    private final Camera camera = new Camera("snapshot");
+    private boolean cameraSet = false;
+    private double interpolation = 1.0;
+
+    /**
+     * Capture the rendering state of all the entities from the rendering pipeline.
+     *
+     * @param pipeline      the list of {@link GameEntity} to be drawn.
+     * @param cam           the current {@link Camera} (can be null).
+     * @param interpolation the interpolation factor to be used to draw this frame.
+     * @param liveStats     the statistics to be displayed with this frame.
+     */
+    public void capture(Collection<GameEntity> pipeline, Camera cam, double interpolation, StatsRegistry liveStats) {
+        Map<GameEntity, GameEntity> swap = previousCopies;
+        previousCopies = copies;
+        copies = swap;
+        entities.clear();
+        for (GameEntity e : pipeline) {
+            entities.add(copyOf(e));
+        }
+        // drop copies of the entities not in the pipeline anymore.
+        previousCopies.clear();
+
+        cameraSet = Optional.ofNullable(cam).isPresent();
+        if (cameraSet) {
+            camera.name = cam.name;
+            camera.target = cam.target;
+            camera.rotation = cam.rotation;
+            camera.tween = cam.tween;
+            camera.position.x = cam.position.x;
+            camera.position.y = cam.position.y;
+            camera.previousPosition.x = cam.previousPosition.x;
+            camera.previousPosition.y = cam.previousPosition.y;
+            if (Optional.ofNullable(cam.viewport).isEmpty()) {
+                camera.viewport = null;
+            } else if (Optional.ofNullable(camera.viewport).isEmpty()) {
+                camera.viewport = cam.viewport.getBounds2D();
+            } else {
+                camera.viewport.setRect(cam.viewport);
+            }
+        }
+        this.interpolation = interpolation;
+        liveStats.copyTo(stats);
+    }
+
+    private GameEntity copyOf(GameEntity e) {
+        GameEntity copy = previousCopies.remove(e);
+        if (copy == null) {
+            copy = copies.get(e);
+        }
+        if (copy == null) {
+            copy = createCopy(e);
+        } else {
+            e.pullRenderStateFrom(copy);
+        }
+        copies.put(e, copy);
+        e.copyRenderStateTo(copy);
+        copy.clearChildren();
+        for (GameEntity c : e.getChild()) {
+            copy.addChild(copyOf(c));
+        }
+        return copy;
+    }
+
+    private GameEntity createCopy(GameEntity e) {
+        try {
+            return e.getClass().getConstructor(String.class).newInstance(e.name);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
+                 NoSuchMethodException ex) {
+            System.err.printf("ERROR: RenderSnapshot:Unable to copy entity %s of class %s:%s%n",
+                    e.name, e.getClass().getName(), ex.getMessage());
+            return new GameEntity(e.name);
+        }
+    }
+
+    public List<GameEntity> getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return the copy of the {@link Camera} at capture time, or null if no camera was set.
+     */
+    public Camera getCamera() {
+        return cameraSet ? camera : null;
+    }
+
+    public double getInterpolation() {
+        return interpolation;
+    }
+
+    public StatsRegistry getStats() {
+        return stats;
+    }
+}
@@ -6,8 +6,10 @@ import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -15,11 +17,14 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
+import jdk.jfr.EventType;
+
 import fr.snapgames.game.core.Game;
 import fr.snapgames.game.core.behaviors.Behavior;
 import fr.snapgames.game.core.config.OldConfiguration;
 import fr.snapgames.game.core.configuration.Configuration;
 import fr.snapgames.game.core.entity.Camera;
+import fr.snapgames.game.core.entity.EntityHierarchy;
 import fr.snapgames.game.core.entity.GameEntity;
 import fr.snapgames.game.core.graphics.plugins.GameEntityRenderer;
 import fr.snapgames.game.core.graphics.plugins.InfluencerRenderer;
@@ -28,7 +33,11 @@ import fr.snapgames.game.core.graphics.plugins.ParticlesEntityRenderer;
 import fr.snapgames.game.core.graphics.plugins.RendererPlugin;
 import fr.snapgames.game.core.graphics.plugins.TextEntityRenderer;
 import fr.snapgames.game.core.lang.I18n;
+import fr.snapgames.game.core.math.PhysicType;
 import fr.snapgames.game.core.math.World;
+import fr.snapgames.game.core.monitoring.StatsRegistry;
+import fr.snapgames.game.core.monitoring.events.RenderEvent;
+import fr.snapgames.game.core.monitoring.events.RenderPluginEvent;
 
 /**
  * Renderer service to draw every GameEntity on screen.
@@ -37,6 +46,7 @@ import fr.snapgames.game.core.math.World;
  * @since 0.0.2
  **/
 public class Renderer {
+    private static final EventType RENDER_PLUGIN_EVENT = EventType.getEventType(RenderPluginEvent.class);
     BufferedImage buffer;
     Configuration config;
     private Game game;
@@ -46,8 +56,26 @@ public class Renderer {
     private List<GameEntity> pipeline = new CopyOnWriteArrayList<>();
 
     private Camera currentCamera;
+    /**
+     * Interpolation factor between the previous and the current physic state (1.0 means current state).
+     */
+    private double interpolation = 1.0;
+    /**
+     * Interpolation factor of the frame being drawn.
+     */
+    private double drawInterpolation = 1.0;
     private Map<Class<?>, RendererPlugin<?>> plugins = new HashMap<>();
 
+    // Flight Recorder measures of the frame being drawn: entity count and draw time (ns) per plugin.
+    private final Map<RendererPlugin<?>, long[]> pluginMeasures = new IdentityHashMap<>();
+    private boolean measurePlugins = false;
+    private int drawnCount = 0;
+    private int culledCount = 0;
+
+    // the debug display font and text, created once to not allocate anything on each frame.
+    private Font debugFont;
+    private char[] debugChars = new char[64];
+
     public Renderer(Game g, Dimension bufferSize) {
         this.game = g;
         this.config = game.getConfiguration();
@@ -80,8 +108,49 @@ public class Renderer {
         this.plugins.put(rendererPlugin.getObjectClass(), rendererPlugin);
     }
 
-    public void draw(Map<String, Object> stats) {
+    /**
+     * Draw all the active entities from the rendering pipeline.
+     *
+     * @param stats the statistics of the current frame.
+     */
+    public void draw(StatsRegistry stats) {
+        render(pipeline, entities.values(), currentCamera, interpolation, true);
+        removeInactiveEntities();
+    }
+
+    /**
+     * Draw a frame from a previously captured {@link RenderSnapshot}. This can be called from another thread than
+     * the one updating the entities. The {@link Behavior#draw(Game, Graphics2D, Object)} hooks, reading the live
+     * game state, are not called on the snapshot entities.
+     *
+     * @param snapshot the {@link RenderSnapshot} to be drawn.
+     * @see Renderer#capture(RenderSnapshot, StatsRegistry)
+     */
+    public void draw(RenderSnapshot snapshot) {
+        render(snapshot.getEntities(), snapshot.getEntities(), snapshot.getCamera(), snapshot.getInterpolation(), false);
+    }
+
+    /**
+     * Capture the current rendering state into a {@link RenderSnapshot}, to be drawn later with
+     * {@link Renderer#draw(RenderSnapshot)}.
+     *
+     * @param snapshot the {@link RenderSnapshot} to be filled.
+     * @param stats    the statistics of the current frame.
+     */
+    public void capture(RenderSnapshot snapshot, StatsRegistry stats) {
+        snapshot.capture(pipeline, currentCamera, interpolation, stats);
+        removeInactiveEntities();
+    }
+
+    private void render(Collection<GameEntity> toBeDrawn, Collection<GameEntity> toBeDebugged, Camera camera, double alpha,
+                        boolean live) {
         if (Optional.ofNullable(buffer).isPresent()) {
+            RenderEvent event = new RenderEvent();
+            event.begin();
+            measurePlugins = RENDER_PLUGIN_EVENT.isEnabled();
+            drawnCount = 0;
+            culledCount = 0;
+            drawInterpolation = alpha;
             Graphics2D g = buffer.createGraphics();
             g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
             g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -92,40 +161,84 @@ public class Renderer {
             g.clearRect(0, 0, buffer.getWidth(), buffer.getHeight());
 
             // draw all entities according to Camera
-            pipeline.stream()
-                    .filter(e -> e.isActive() && isInViewPort(currentCamera, e))
+            toBeDrawn.stream()
+                    .filter(e -> e.isActive() && isVisible(camera, e))
                     .sorted((e1, e2) -> e1.getLayer() == e2.getLayer()
                             ? e1.getPriority() == e2.getPriority() ? 0
                             : Integer.compare(e1.getPriority(), e2.getPriority())
                             : Integer.compare(e1.getLayer(), e2.getLayer()))
                     .forEach(entity -> {
                         // draw Scene
-                        if (Optional.ofNullable(currentCamera).isPresent() && !entity.isStickToCamera()) {
-                            currentCamera.preDraw(g);
+                        if (Optional.ofNullable(camera).isPresent() && !entity.isStickToCamera()) {
+                            camera.preDraw(g, alpha);
                         }
-                        for (Behavior b : entity.behaviors) {
-                            b.draw(game, g, entity);
+                        if (live) {
+                            for (Behavior b : entity.behaviors) {
+                                b.draw(game, g, entity);
+                            }
                         }
                         drawEntity(g, entity);
-                        if (Optional.ofNullable(currentCamera).isPresent() && !entity.isStickToCamera()) {
-                            currentCamera.postDraw(g);
+                        drawnCount++;
+                        if (Optional.ofNullable(camera).isPresent() && !entity.isStickToCamera()) {
+                            camera.postDraw(g, alpha);
                         }
                     });
             if (game.getDebug() > 0) {
-                drawDebugGrid(g, 32);
-                if (Optional.ofNullable(currentCamera).isPresent()) {
-                    drawCameraDebug(g, currentCamera);
+                drawDebugGrid(g, 32, camera, alpha);
+                if (Optional.ofNullable(camera).isPresent()) {
+                    drawCameraDebug(g, camera);
                 }
                 if (game.getDebug() > 2) {
-                    drawEntitesDebug(g);
+                    drawEntitesDebug(g, toBeDebugged, camera, alpha);
                 }
             }
             if (game.isUpdatePause()) {
-                drawPauseMode(g);
+                drawPauseMode(g, camera);
             }
             g.dispose();
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.drawn = drawnCount;
+                event.culled = culledCount;
+                event.commit();
+            }
+            if (measurePlugins) {
+                commitPluginEvents();
+            }
+        }
+    }
+
+    /**
+     * Emit one {@link RenderPluginEvent} per {@link RendererPlugin} used during the frame, and reset the measures.
+     */
+    private void commitPluginEvents() {
+        for (Map.Entry<RendererPlugin<?>, long[]> m : pluginMeasures.entrySet()) {
+            long[] measure = m.getValue();
+            if (measure[0] > 0) {
+                RenderPluginEvent pluginEvent = new RenderPluginEvent();
+                pluginEvent.plugin = m.getKey().getClass().getSimpleName();
+                pluginEvent.drawn = (int) measure[0];
+                pluginEvent.drawTime = measure[1];
+                pluginEvent.commit();
+                measure[0] = 0;
+                measure[1] = 0;
+            }
+        }
+    }
+
+    private boolean isVisible(Camera camera, GameEntity e) {
+        if (isInViewPort(camera, e)) {
+            return true;
         }
-        // remove inactive object.
+        culledCount++;
+        return false;
+    }
+
+    /**
+     * remove inactive object.
+     */
+    private void removeInactiveEntities() {
         entities.values().stream()
                 .filter(e -> !e.isActive())
                 .toList()
@@ -146,7 +259,7 @@ public class Renderer {
         return true;
     }
 
-    private void drawPauseMode(Graphics2D g) {
+    private void drawPauseMode(Graphics2D g, Camera currentCamera) {
         g.setColor(new Color(0.3f, 0.6f, 0.4f, 0.9f));
         g.fillRect(0, ((int) currentCamera.viewport.getHeight() - 24) / 2, (int) currentCamera.viewport.getWidth(), 24);
         g.setColor(Color.WHITE);
@@ -157,16 +270,46 @@ public class Renderer {
                 ((int) currentCamera.viewport.getHeight() + 12) / 2);
     }
 
+    /**
+     * Draw an entity, followed by all its descendants in the {@link EntityHierarchy} order.
+     *
+     * @param g      the Graphics API.
+     * @param entity the {@link GameEntity} to be drawn.
+     */
     public void drawEntity(Graphics2D g, GameEntity entity) {
+        drawNode(g, entity);
+        EntityHierarchy h = entity.getHierarchy();
+        for (int i = 0; i < h.size(); i++) {
+            drawNode(g, h.get(i));
+        }
+    }
+
+    private void drawNode(Graphics2D g, GameEntity entity) {
         entity.setDrawnBy(null);
         if (plugins.containsKey(entity.getClass())) {
             RendererPlugin rp = plugins.get(entity.getClass());
-            rp.draw(this, g, entity);
+            // move the drawing from the current position to the interpolated one, for the bodies moved by the
+            // PhysicEngine (dynamic and kinematic ones).
+            double dx = 0.0, dy = 0.0;
+            if (drawInterpolation < 1.0 && !entity.isStickToCamera() && !entity.physicType.equals(PhysicType.STATIC)) {
+                dx = (entity.previousPosition.x - entity.position.x) * (1.0 - drawInterpolation);
+                dy = (entity.previousPosition.y - entity.position.y) * (1.0 - drawInterpolation);
+            }
+            g.translate(dx, dy);
+            if (measurePlugins) {
+                long start = System.nanoTime();
+                rp.draw(this, g, entity);
+                long[] measure = pluginMeasures.computeIfAbsent(rp, p -> new long[2]);
+                measure[0]++;
+                measure[1] += System.nanoTime() - start;
+            } else {
+                rp.draw(this, g, entity);
+            }
+            g.translate(-dx, -dy);
             entity.setDrawnBy(rp.getClass());
         } else {
             System.err.printf("Renderer:Unknown rendering plugin for Entity class %s%n", entity.getClass().getName());
         }
-        entity.getChild().forEach(c -> drawEntity(g, c));
     }
 
     /**
@@ -174,13 +317,18 @@ public class Renderer {
      *
      * @param g    Graphics API
      * @param step Step to draw for grid
+     * @param currentCamera the Camera used to draw the grid
+     * @param interpolation the Camera position interpolation factor
      */
-    private void drawDebugGrid(Graphics2D g, int step) {
+    private void drawDebugGrid(Graphics2D g, int step, Camera currentCamera, double interpolation) {
         World world = game.getPhysicEngine().getWorld();
-        g.setFont(g.getFont().deriveFont(8.5f));
+        if (Optional.ofNullable(debugFont).isEmpty()) {
+            debugFont = g.getFont().deriveFont(8.5f);
+        }
+        g.setFont(debugFont);
 
         if (Optional.ofNullable(currentCamera).isPresent()) {
-            currentCamera.preDraw(g);
+            currentCamera.preDraw(g, interpolation);
         }
         g.setColor(Color.LIGHT_GRAY);
         for (int x = 0; x < world.getPlayArea().getWidth(); x += step) {
@@ -194,19 +342,19 @@ public class Renderer {
                 (int) world.getPlayArea().getWidth(),
                 (int) world.getPlayArea().getHeight());
         if (Optional.ofNullable(currentCamera).isPresent()) {
-            currentCamera.postDraw(g);
+            currentCamera.postDraw(g, interpolation);
         }
         g.setColor(Color.ORANGE);
         g.drawRect(0, 0, world.getPlayArea().width, world.getPlayArea().height);
     }
 
-    private void drawEntitesDebug(Graphics2D g) {
-        entities.values().stream()
+    private void drawEntitesDebug(Graphics2D g, Collection<GameEntity> entities, Camera currentCamera, double interpolation) {
+        entities.stream()
                 .filter(e -> e.isActive() && isInViewPort(currentCamera, e))
                 .sorted(Renderer::compare)
                 .forEach(v -> {
                     if (Optional.ofNullable(currentCamera).isPresent() && !v.isStickToCamera()) {
-                        currentCamera.preDraw(g);
+                        currentCamera.preDraw(g, interpolation);
                     }
                     if (plugins.containsKey(v.getClass())) {
                         RendererPlugin rp = ((RendererPlugin) plugins.get(v.getClass()));
@@ -217,16 +365,66 @@ public class Renderer {
                     }
 
                     if (Optional.ofNullable(currentCamera).isPresent() && !v.isStickToCamera()) {
-                        currentCamera.postDraw(g);
+                        currentCamera.postDraw(g, interpolation);
                     }
                 });
     }
 
     private void drawCameraDebug(Graphics2D g, Camera camera) {
         g.drawRect(10, 10, (int) camera.viewport.getWidth() - 20, (int) camera.viewport.getHeight() - 20);
-        g.drawString(String.format("cam: %s", camera.name), 20, 20);
-        g.drawString(String.format("pos: %04.2f,%04.2f", camera.position.x, camera.position.y), 20, 32);
-        g.drawString(String.format("targ: %s", camera.target.name), 20, 44);
+        int length = append(append(0, "cam: "), camera.name);
+        g.drawChars(debugChars, 0, length, 20, 20);
+        length = append(append(append(append(0, "pos: "), camera.position.x), ","), camera.position.y);
+        g.drawChars(debugChars, 0, length, 20, 32);
+        length = append(append(0, "targ: "), Optional.ofNullable(camera.target).isPresent() ? camera.target.name : "-");
+        g.drawChars(debugChars, 0, length, 20, 44);
+    }
+
+    private int append(int pos, String s) {
+        ensureDebugCapacity(pos + s.length());
+        s.getChars(0, s.length(), debugChars, pos);
+        return pos + s.length();
+    }
+
+    /**
+     * Append a value with 2 decimals (as the <code>%04.2f</code> format does).
+     */
+    private int append(int pos, double value) {
+        long hundredths = Math.round(Math.abs(value) * 100.0);
+        if (value < 0 && hundredths > 0) {
+            pos = append(pos, "-");
+        }
+        long units = hundredths / 100;
+        int digits = 1;
+        for (long v = units; v >= 10; v /= 10) {
+            digits++;
+        }
+        ensureDebugCapacity(pos + digits + 3);
+        for (int d = pos + digits - 1; d >= pos; d--) {
+            debugChars[d] = (char) ('0' + units % 10);
+            units /= 10;
+        }
+        pos += digits;
+        debugChars[pos++] = '.';
+        debugChars[pos++] = (char) ('0' + (hundredths / 10) % 10);
+        debugChars[pos++] = (char) ('0' + hundredths % 10);
+        return pos;
+    }
+
+    private void ensureDebugCapacity(int size) {
+        if (size > debugChars.length) {
+            debugChars = Arrays.copyOf(debugChars, Math.max(size, debugChars.length * 2));
+        }
+    }
+
+    /**
+     * Set the interpolation factor to be used to draw the entities between their previous and their current
+     * position.
+     *
+     * @param alpha a value from 0.0 (previous position) to 1.0 (current position).
+     */
+    public void setInterpolation(double alpha) {
+        this.interpolation = alpha;
     }
 
     public void setCurrentCamera(Camera cam) {
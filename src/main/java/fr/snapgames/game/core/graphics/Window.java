@@ -3,14 +3,13 @@ package fr.snapgames.game.core.graphics;
 import fr.snapgames.game.core.Game;
 import fr.snapgames.game.core.configuration.ConfigAttribute;
 import fr.snapgames.game.core.configuration.IConfigAttribute;
+import fr.snapgames.game.core.monitoring.StatsRegistry;
 import fr.snapgames.game.core.resources.ResourceManager;
-import fr.snapgames.game.core.utils.StringUtils;
 
 import javax.swing.JFrame;
 import java.awt.*;
 import java.awt.event.KeyListener;
 import java.awt.event.WindowEvent;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -21,9 +20,11 @@ import java.util.Optional;
  * @since 1.0.1
  */
 public class Window {
+    private static final Color STATS_BACKGROUND = new Color(0.3f, 0.0f, 0.0f, 0.8f);
 
     private final Game game;
     private JFrame frame;
+    private Font statsFont;
 
     public Window(Game game, String title, Dimension dim) {
         this.game = game;
@@ -74,12 +75,12 @@ public class Window {
      *
      * @param r     the {@link Renderer} providing the image buffer to be rendered
      *              on the Window.
-     * @param stats a {@link Map} of statistics to be displayed in debug mode in the
+     * @param stats the {@link StatsRegistry} of statistics to be displayed in debug mode in the
      *              debug window bottom line
      * @param scale a double value as a resizing factor to render {@link Renderer}
      *              buffer on the {@link Window}
      */
-    public void drawFrom(Renderer r, Map<String, Object> stats, double scale) {
+    public void drawFrom(Renderer r, StatsRegistry stats, double scale) {
         if (Optional.ofNullable(frame).isPresent()
                 && frame.getBufferStrategy() != null) {
             if (frame.getBufferStrategy().getDrawGraphics() == null) {
@@ -93,12 +94,15 @@ public class Window {
                     null);
             g2.scale(1.0 / scale, 1.0 / scale);
             if (game.isDebugGreaterThan(0)) {
-                g2.setColor(new Color(0.3f, 0.0f, 0.0f, 0.8f));
+                g2.setColor(STATS_BACKGROUND);
                 g2.fillRect(0, frame.getHeight() - 32, frame.getWidth(), 32);
                 g2.setColor(Color.ORANGE);
-                String displayLine = StringUtils.prepareStatsString(stats);
-                g2.setFont(g2.getFont().deriveFont(15.0f));
-                g2.drawString(displayLine, 16, frame.getHeight() - 16);
+                if (Optional.ofNullable(statsFont).isEmpty()) {
+                    statsFont = g2.getFont().deriveFont(15.0f);
+                }
+                g2.setFont(statsFont);
+                int length = stats.format();
+                g2.drawChars(stats.getChars(), 0, length, 16, frame.getHeight() - 16);
             }
             g2.dispose();
             if (frame.getBufferStrategy() != null) {
@@ -19,9 +19,7 @@ public class ParticlesEntityRenderer implements RendererPlugin<ParticlesEntity>
 
     @Override
     public void draw(Renderer r, Graphics2D g, ParticlesEntity pe) {
-        pe.getChild().forEach(e -> {
-            r.drawEntity(g, e);
-        });
+        // the particles are the children of the entity, drawn by the Renderer right after it.
     }
 
     @Override
@@ -6,11 +6,17 @@ import java.awt.event.KeyEvent;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Internal Input listener.
+ * <p>
+ * The key transitions can be recorded at each game tick with an {@link InputRecorder}, and replayed later through
+ * an {@link InputReplayer}: during a replay, the keyboard events are ignored and the recorded ones are dispatched
+ * at the same tick they have been received during the recording.
  *
  * @author Frédéric Delorme
  * @since 0.0.2
@@ -24,13 +30,67 @@ public class InputHandler implements ActionListener {
     private boolean altDown;
     private boolean altGrDown;
 
+    private InputRecorder recorder;
+    private InputReplayer replayer;
+    private final Queue<KeyEvent> transitions = new ConcurrentLinkedQueue<>();
+
     public InputHandler(Game g) {
         this.game = g;
     }
 
+    /**
+     * Record the key transitions of each tick.
+     *
+     * @param recorder the {@link InputRecorder} writing the log.
+     * @return the updated {@link InputHandler}.
+     */
+    public InputHandler setRecorder(InputRecorder recorder) {
+        this.recorder = recorder;
+        return this;
+    }
+
+    /**
+     * Replace the keyboard events by the ones of a recorded log.
+     *
+     * @param replayer the {@link InputReplayer} reading the log.
+     * @return the updated {@link InputHandler}.
+     */
+    public InputHandler setReplayer(InputReplayer replayer) {
+        this.replayer = replayer;
+        return this;
+    }
+
+    /**
+     * Process the start of a game tick: write the key transitions received since the previous tick when recording,
+     * or dispatch the ones of the next recorded tick when replaying.
+     *
+     * @return false if the end of the replayed log has been reached.
+     */
+    public boolean tick() {
+        if (Optional.ofNullable(replayer).isPresent()) {
+            return replayer.replay(this, game);
+        }
+        if (Optional.ofNullable(recorder).isPresent()) {
+            recorder.record(transitions);
+        }
+        return true;
+    }
+
+    /**
+     * Close the recorded or replayed log.
+     */
+    public void close() {
+        if (Optional.ofNullable(recorder).isPresent()) {
+            recorder.close();
+        }
+        if (Optional.ofNullable(replayer).isPresent()) {
+            replayer.close();
+        }
+    }
+
     @Override
     public void keyTyped(KeyEvent e) {
-        if (Optional.ofNullable(game).isPresent()) {
+        if (Optional.ofNullable(game).isPresent() && Optional.ofNullable(replayer).isEmpty()) {
             checkMetaKeys(e);
             listeners.forEach(kl -> kl.keyPressed(e));
         }
@@ -38,6 +98,15 @@ public class InputHandler implements ActionListener {
 
     @Override
     public void keyPressed(KeyEvent e) {
+        if (Optional.ofNullable(replayer).isEmpty()) {
+            dispatchPressed(e);
+        }
+    }
+
+    void dispatchPressed(KeyEvent e) {
+        if (Optional.ofNullable(recorder).isPresent()) {
+            transitions.add(e);
+        }
         checkMetaKeys(e);
         events.put(e.getKeyCode(), e);
         listeners.forEach(kl -> kl.keyPressed(e));
@@ -52,10 +121,18 @@ public class InputHandler implements ActionListener {
 
     @Override
     public void keyReleased(KeyEvent e) {
+        if (Optional.ofNullable(replayer).isEmpty()) {
+            dispatchReleased(e);
+        }
+    }
+
+    void dispatchReleased(KeyEvent e) {
+        if (Optional.ofNullable(recorder).isPresent()) {
+            transitions.add(e);
+        }
         checkMetaKeys(e);
         events.remove(e.getKeyCode());
         listeners.forEach(kl -> kl.keyReleased(e));
-
     }
 
     public boolean getKey(int code) {
@@ -0,0 +1,95 @@
+package fr.snapgames.game.core.io;
+
+import java.awt.event.KeyEvent;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Queue;
+
+/**
+ * The {@link InputRecorder} writes the key transitions of each game tick into a compact binary log, to be replayed
+ * later by an {@link InputReplayer}.
+ * <p>
+ * The log format is:
+ * <ul>
+ *     <li>a header: the <code>SGIR</code> magic number (int), the format version (short) and the seed of the
+ *     game random generator (long),</li>
+ *     <li>then, for each tick, the number of key transitions (unsigned byte), followed by each transition: the key
+ *     code (short) and the keyboard modifiers (short), with the highest bit set for a key press.</li>
+ * </ul>
+ * A tick without any key transition only costs one byte.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class InputRecorder {
+    static final int MAGIC = 0x53474952;
+    static final short VERSION = 1;
+    static final int PRESSED = 0x8000;
+    static final int MODIFIERS_MASK = KeyEvent.SHIFT_DOWN_MASK | KeyEvent.CTRL_DOWN_MASK | KeyEvent.META_DOWN_MASK
+            | KeyEvent.ALT_DOWN_MASK | KeyEvent.ALT_GRAPH_DOWN_MASK;
+    static final int MAX_TRANSITIONS_PER_TICK = 255;
+
+    private final Path file;
+    private DataOutputStream out;
+    private long ticks = 0;
+
+    /**
+     * Create the log file and write its header.
+     *
+     * @param file the path to the log file to be created.
+     * @param seed the seed of the game random generator.
+     * @throws IOException if the log file can not be written.
+     */
+    public InputRecorder(Path file, long seed) throws IOException {
+        this.file = file;
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(seed);
+    }
+
+    /**
+     * Write the key transitions of one tick.
+     *
+     * @param transitions the queue of {@link KeyEvent} (pressed or released) received since the previous tick.
+     */
+    public synchronized void record(Queue<KeyEvent> transitions) {
+        if (Optional.ofNullable(out).isEmpty()) {
+            return;
+        }
+        try {
+            int count = Math.min(transitions.size(), MAX_TRANSITIONS_PER_TICK);
+            out.writeByte(count);
+            for (int i = 0; i < count; i++) {
+                KeyEvent e = transitions.poll();
+                out.writeShort(e.getKeyCode());
+                out.writeShort((e.getModifiersEx() & MODIFIERS_MASK)
+                        | (e.getID() == KeyEvent.KEY_PRESSED ? PRESSED : 0));
+            }
+            ticks++;
+        } catch (IOException e) {
+            System.err.printf("ERROR: InputRecorder:Unable to write to %s, recording stopped: %s%n",
+                    file, e.getMessage());
+            close();
+        }
+    }
+
+    /**
+     * Flush and close the log file. Nothing is recorded anymore after that call.
+     */
+    public synchronized void close() {
+        if (Optional.ofNullable(out).isPresent()) {
+            try {
+                out.close();
+                System.out.printf("INFO: InputRecorder:%d ticks recorded into %s%n", ticks, file);
+            } catch (IOException e) {
+                System.err.printf("ERROR: InputRecorder:Unable to close %s: %s%n", file, e.getMessage());
+            }
+            out = null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package fr.snapgames.game.core.io;
+
+import java.awt.Component;
+import java.awt.event.KeyEvent;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * The {@link InputReplayer} reads back a log written by an {@link InputRecorder}, and dispatches, at each game
+ * tick, the recorded key transitions as synthetic {@link KeyEvent} to the {@link InputHandler}.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class InputReplayer {
+    private final Path file;
+    private final long seed;
+    private DataInputStream in;
+    private long ticks = 0;
+
+    /**
+     * Open a log file and read its header.
+     *
+     * @param file the path to the log file to be replayed.
+     * @throws IOException if the file can not be read or is not an input log.
+     */
+    public InputReplayer(Path file) throws IOException {
+        this.file = file;
+        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        if (in.readInt() != InputRecorder.MAGIC) {
+            in.close();
+            throw new IOException("not an input record file");
+        }
+        short version = in.readShort();
+        if (version != InputRecorder.VERSION) {
+            in.close();
+            throw new IOException(String.format("unsupported input record version %d", version));
+        }
+        seed = in.readLong();
+    }
+
+    /**
+     * @return the seed of the game random generator used during the recording.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Dispatch the key transitions of the next recorded tick.
+     *
+     * @param ih     the {@link InputHandler} receiving the key events.
+     * @param source the {@link Component} set as source of the key events.
+     * @return false when the end of the log is reached.
+     */
+    public boolean replay(InputHandler ih, Component source) {
+        if (Optional.ofNullable(in).isEmpty()) {
+            return false;
+        }
+        try {
+            int count = in.readUnsignedByte();
+            for (int i = 0; i < count; i++) {
+                int keyCode = in.readUnsignedShort();
+                int flags = in.readUnsignedShort();
+                boolean pressed = (flags & InputRecorder.PRESSED) != 0;
+                KeyEvent e = new KeyEvent(source,
+                        pressed ? KeyEvent.KEY_PRESSED : KeyEvent.KEY_RELEASED,
+                        ticks,
+                        flags & InputRecorder.MODIFIERS_MASK,
+                        keyCode,
+                        KeyEvent.CHAR_UNDEFINED);
+                if (pressed) {
+                    ih.dispatchPressed(e);
+                } else {
+                    ih.dispatchReleased(e);
+                }
+            }
+            ticks++;
+            return true;
+        } catch (EOFException e) {
+            System.out.printf("INFO: InputReplayer:End of %s reached after %d ticks%n", file, ticks);
+        } catch (IOException e) {
+            System.err.printf("ERROR: InputReplayer:Unable to read %s: %s%n", file, e.getMessage());
+        }
+        close();
+        return false;
+    }
+
+    /**
+     * Close the log file.
+     */
+    public void close() {
+        if (Optional.ofNullable(in).isPresent()) {
+            try {
+                in.close();
+            } catch (IOException e) {
+                System.err.printf("ERROR: InputReplayer:Unable to close %s: %s%n", file, e.getMessage());
+            }
+            in = null;
+        }
+    }
+}
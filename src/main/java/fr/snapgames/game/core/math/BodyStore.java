@@ -0,0 +1,237 @@
+package fr.snapgames.game.core.math;
+
+import java.util.Arrays;
+
+import fr.snapgames.game.core.entity.GameEntity;
+
+/**
+ * The {@link BodyStore} keeps the state of the dynamic bodies integrated by the {@link PhysicEngine} in contiguous
+ * arrays (structure of arrays), one slot per {@link GameEntity}.
+ * <p>
+ * The {@link GameEntity} fields stay the reference state, read and modified by the behaviors, the collisions and
+ * the world constraint. On each update, the state of a range of slots is gathered from the entities (the forces
+ * being already summed and the materials merged), the integration runs on the arrays only, then the result is
+ * scattered back into the entity fields, without any allocation:
+ *
+ * <pre>
+ * int slot = store.add(entity, true);
+ * store.dt[slot] = elapsed;
+ * store.x[slot] = entity.position.x;
+ * // ...
+ * store.integrate(from, to, Integrator.SEMI_IMPLICIT_EULER, subSteps);
+ * entity.position.x = store.x[slot];
+ * </pre>
+ * <p>
+ * Each slot is integrated on its own elapsed time {@link BodyStore#dt}, longer for a body integrated less often.
+ * {@link BodyStore#integrateFixed(int, int, int)} is the fixed point variant used by the deterministic mode.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class BodyStore {
+    public double[] x = new double[0];
+    public double[] y = new double[0];
+    public double[] vx = new double[0];
+    public double[] vy = new double[0];
+    public double[] ax = new double[0];
+    public double[] ay = new double[0];
+    public double[] fx = new double[0];
+    public double[] fy = new double[0];
+    public double[] mass = new double[0];
+    public double[] density = new double[0];
+    public double[] roughness = new double[0];
+    public double[] maxAcceleration = new double[0];
+    public double[] maxVelocity = new double[0];
+    // the elapsed time integrated for each body (more than the update one for a body integrated less often).
+    public double[] dt = new double[0];
+    // the number of updates integrated at once for each body (more than 1 for a body integrated less often).
+    public int[] updates = new int[0];
+    // the greatest coordinate of the forces applied by the entity behaviors, without gravity and influencers.
+    public double[] ownForce = new double[0];
+
+    private GameEntity[] entities = new GameEntity[0];
+    private boolean[] roots = new boolean[0];
+    private int size = 0;
+
+    /**
+     * Add a body at the end of the store.
+     *
+     * @param e    the {@link GameEntity} the slot is reserved for.
+     * @param root true if the entity is a scene one, false for a child entity.
+     * @return the slot of the body.
+     */
+    public int add(GameEntity e, boolean root) {
+        if (size == entities.length) {
+            grow(Math.max(64, size * 2));
+        }
+        entities[size] = e;
+        roots[size] = root;
+        return size++;
+    }
+
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        ax = Arrays.copyOf(ax, capacity);
+        ay = Arrays.copyOf(ay, capacity);
+        fx = Arrays.copyOf(fx, capacity);
+        fy = Arrays.copyOf(fy, capacity);
+        mass = Arrays.copyOf(mass, capacity);
+        density = Arrays.copyOf(density, capacity);
+        roughness = Arrays.copyOf(roughness, capacity);
+        maxAcceleration = Arrays.copyOf(maxAcceleration, capacity);
+        maxVelocity = Arrays.copyOf(maxVelocity, capacity);
+        dt = Arrays.copyOf(dt, capacity);
+        updates = Arrays.copyOf(updates, capacity);
+        ownForce = Arrays.copyOf(ownForce, capacity);
+        entities = Arrays.copyOf(entities, capacity);
+        roots = Arrays.copyOf(roots, capacity);
+    }
+
+    /**
+     * Integrate the bodies of a range of slots on the same elapsed time.
+     *
+     * @param from       the first slot (inclusive).
+     * @param to         the last slot (exclusive).
+     * @param elapsed    the elapsed time since previous update.
+     * @param integrator the {@link Integrator} scheme to be used.
+     * @param subSteps   the number of steps the elapsed time is divided into.
+     */
+    public void integrate(int from, int to, double elapsed, Integrator integrator, int subSteps) {
+        Arrays.fill(dt, from, to, elapsed);
+        integrate(from, to, integrator, subSteps);
+    }
+
+    /**
+     * Integrate the bodies of a range of slots, each one on its own elapsed time {@link BodyStore#dt}:
+     * acceleration from the forces, velocity and position.
+     *
+     * @param from       the first slot (inclusive).
+     * @param to         the last slot (exclusive).
+     * @param integrator the {@link Integrator} scheme to be used.
+     * @param subSteps   the number of steps the elapsed time is divided into.
+     */
+    public void integrate(int from, int to, Integrator integrator, int subSteps) {
+        for (int i = from; i < to; i++) {
+            ax[i] = clamp(fx[i] * density[i] * mass[i], maxAcceleration[i]);
+            ay[i] = clamp(fy[i] * density[i] * mass[i], maxAcceleration[i]);
+        }
+        if (subSteps > 1) {
+            // the damping of a whole update is spread on the sub-steps.
+            double exponent = 1.0 / subSteps;
+            for (int i = from; i < to; i++) {
+                roughness[i] = Math.pow(roughness[i], exponent);
+            }
+        }
+        for (int step = 0; step < subSteps; step++) {
+            switch (integrator) {
+                case SEMI_IMPLICIT_EULER -> semiImplicitEuler(from, to, subSteps);
+                case VELOCITY_VERLET -> velocityVerlet(from, to, subSteps);
+                case RK2 -> midpoint(from, to, subSteps);
+            }
+        }
+    }
+
+    /**
+     * Integrate the bodies of a range of slots, each one on its own elapsed time {@link BodyStore#dt}, with the
+     * semi-implicit Euler scheme, in {@link FixedPoint} arithmetic: the state is converted to fixed point,
+     * integrated, and stored back as the exact double value of the fixed point result, giving the same result on
+     * any machine.
+     *
+     * @param from     the first slot (inclusive).
+     * @param to       the last slot (exclusive).
+     * @param subSteps the number of steps the elapsed time is divided into.
+     */
+    public void integrateFixed(int from, int to, int subSteps) {
+        for (int i = from; i < to; i++) {
+            long h = FixedPoint.toFixed(dt[i] / subSteps);
+            // StrictMath gives the same damping on any machine.
+            long damping = FixedPoint.toFixed(subSteps > 1
+                    ? StrictMath.pow(roughness[i], 1.0 / subSteps) : roughness[i]);
+            long maxA = FixedPoint.toFixed(maxAcceleration[i]);
+            long maxV = FixedPoint.toFixed(maxVelocity[i]);
+            long densityMass = FixedPoint.mul(FixedPoint.toFixed(density[i]), FixedPoint.toFixed(mass[i]));
+            long accX = FixedPoint.clamp(FixedPoint.mul(FixedPoint.toFixed(fx[i]), densityMass), maxA);
+            long accY = FixedPoint.clamp(FixedPoint.mul(FixedPoint.toFixed(fy[i]), densityMass), maxA);
+            long posX = FixedPoint.toFixed(x[i]);
+            long posY = FixedPoint.toFixed(y[i]);
+            long velX = FixedPoint.toFixed(vx[i]);
+            long velY = FixedPoint.toFixed(vy[i]);
+            for (int step = 0; step < subSteps; step++) {
+                velX = FixedPoint.clamp(FixedPoint.mul(velX + FixedPoint.mul(accX, h), damping), maxV);
+                velY = FixedPoint.clamp(FixedPoint.mul(velY + FixedPoint.mul(accY, h), damping), maxV);
+                posX += FixedPoint.mul(velX, h);
+                posY += FixedPoint.mul(velY, h);
+            }
+            ax[i] = FixedPoint.toDouble(accX);
+            ay[i] = FixedPoint.toDouble(accY);
+            vx[i] = FixedPoint.toDouble(velX);
+            vy[i] = FixedPoint.toDouble(velY);
+            x[i] = FixedPoint.toDouble(posX);
+            y[i] = FixedPoint.toDouble(posY);
+        }
+    }
+
+    private void semiImplicitEuler(int from, int to, int subSteps) {
+        for (int i = from; i < to; i++) {
+            double h = dt[i] / subSteps;
+            vx[i] = clamp((vx[i] + ax[i] * h) * roughness[i], maxVelocity[i]);
+            vy[i] = clamp((vy[i] + ay[i] * h) * roughness[i], maxVelocity[i]);
+            x[i] += vx[i] * h;
+            y[i] += vy[i] * h;
+        }
+    }
+
+    private void velocityVerlet(int from, int to, int subSteps) {
+        for (int i = from; i < to; i++) {
+            double h = dt[i] / subSteps;
+            double halfH2 = 0.5 * h * h;
+            x[i] += vx[i] * h + ax[i] * halfH2;
+            y[i] += vy[i] * h + ay[i] * halfH2;
+            vx[i] = clamp((vx[i] + ax[i] * h) * roughness[i], maxVelocity[i]);
+            vy[i] = clamp((vy[i] + ay[i] * h) * roughness[i], maxVelocity[i]);
+        }
+    }
+
+    private void midpoint(int from, int to, int subSteps) {
+        for (int i = from; i < to; i++) {
+            double h = dt[i] / subSteps;
+            double halfH = 0.5 * h;
+            // the acceleration is applied at the middle of the step, damped only by half of the step.
+            double halfDamping = Math.sqrt(roughness[i]);
+            x[i] += clamp((vx[i] + ax[i] * halfH) * halfDamping, maxVelocity[i]) * h;
+            y[i] += clamp((vy[i] + ay[i] * halfH) * halfDamping, maxVelocity[i]) * h;
+            vx[i] = clamp(vx[i] * roughness[i] + ax[i] * h * halfDamping, maxVelocity[i]);
+            vy[i] = clamp(vy[i] * roughness[i] + ay[i] * h * halfDamping, maxVelocity[i]);
+        }
+    }
+
+    private static double clamp(double value, double max) {
+        return Math.abs(value) > max ? Math.signum(value) * max : value;
+    }
+
+    public GameEntity getEntity(int slot) {
+        return entities[slot];
+    }
+
+    /**
+     * @return true if the body of this slot is a scene entity (and not the child of another one).
+     */
+    public boolean isRoot(int slot) {
+        return roots[slot];
+    }
+
+    /**
+     * Remove all the bodies, keeping the allocated arrays.
+     */
+    public void clear() {
+        Arrays.fill(entities, 0, size, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+}
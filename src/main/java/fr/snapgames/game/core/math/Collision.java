@@ -0,0 +1,66 @@
+package fr.snapgames.game.core.math;
+
+import fr.snapgames.game.core.entity.GameEntity;
+
+/**
+ * A contact between two {@link GameEntity} detected by the {@link CollisionSystem}.
+ * <p>
+ * The {@link Collision} instances are reused from one update to the next: a
+ * {@link fr.snapgames.game.core.behaviors.Behavior#onCollision(fr.snapgames.game.core.Game, Object, Collision)}
+ * implementation must not keep a reference on it.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class Collision {
+    /**
+     * The first entity of the contact.
+     */
+    public GameEntity a;
+    /**
+     * The second entity of the contact.
+     */
+    public GameEntity b;
+    /**
+     * The contact normal, a unit vector from {@link Collision#a} to {@link Collision#b}.
+     */
+    public double normalX;
+    public double normalY;
+    /**
+     * The overlapping depth of the two entities along the normal.
+     */
+    public double penetration;
+
+    private boolean ignored;
+
+    void set(GameEntity a, GameEntity b, double normalX, double normalY, double penetration) {
+        this.a = a;
+        this.b = b;
+        this.normalX = normalX;
+        this.normalY = normalY;
+        this.penetration = penetration;
+        this.ignored = false;
+    }
+
+    /**
+     * Retrieve the other entity of the contact.
+     *
+     * @param self one of the entities of the contact.
+     * @return the other one.
+     */
+    public GameEntity getOther(GameEntity self) {
+        return self == a ? b : a;
+    }
+
+    /**
+     * Request the {@link CollisionSystem} to not apply the physical response (bounce and separation) to this
+     * contact, e.g. when one of the entities is collected or destroyed by the contact.
+     */
+    public void ignore() {
+        this.ignored = true;
+    }
+
+    public boolean isIgnored() {
+        return ignored;
+    }
+}
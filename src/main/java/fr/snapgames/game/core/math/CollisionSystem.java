@@ -0,0 +1,309 @@
+package fr.snapgames.game.core.math;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.snapgames.game.core.Game;
+import fr.snapgames.game.core.behaviors.Behavior;
+import fr.snapgames.game.core.entity.EntityType;
+import fr.snapgames.game.core.entity.GameEntity;
+
+/**
+ * The {@link CollisionSystem} detects and solves the contacts between the collidable {@link GameEntity} (see
+ * {@link GameEntity#setCollidable(boolean)}).
+ * <ol>
+ *     <li>Broad phase: sort and sweep on the X axis. The bodies are kept sorted on the left side of their box with
+ *     an insertion sort, nearly linear as the order changes a little from one update to the next. Only the
+ *     bodies whose boxes overlap on X, then on Y, are tested.</li>
+ *     <li>Narrow phase: the {@link EntityType#CIRCLE} entities are tested as circles, all the other ones as
+ *     axis-aligned boxes, giving the contact normal and penetration depth of a {@link Collision}.</li>
+ *     <li>Callbacks: the {@link Behavior#onCollision(Game, Object, Collision)} of both entities are called, and can
+ *     {@link Collision#ignore()} the contact.</li>
+ *     <li>Response: an impulse along the normal, with a restitution being the product of the two materials
+ *     elasticity, and a positional correction to separate the two entities. Only the
+ *     {@link PhysicType#DYNAMIC} entities are moved, according to their mass, a sleeping one being woken up;
+ *     the static and kinematic ones act as infinite masses.</li>
+ * </ol>
+ * The pairs of sleeping or static entities are not tested. The static entities are not sorted with the other ones,
+ * but retrieved from the {@link PhysicEngine} static grid around each awake dynamic entity.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class CollisionSystem {
+    private static final double CORRECTION_PERCENT = 0.8;
+    private static final double CORRECTION_SLOP = 0.01;
+
+    private final Game game;
+    // the moving bodies, sorted for the sweep, and the static ones, found through their grid.
+    private final List<GameEntity> bodies = new ArrayList<>();
+    private final SpatialGrid staticGrid;
+    private final List<GameEntity> staticFound = new ArrayList<>();
+    // reused collisions, only the first collisionCount ones are valid.
+    private final List<Collision> collisions = new ArrayList<>();
+    private int collisionCount = 0;
+
+    /**
+     * Create the collision system.
+     *
+     * @param game       the parent {@link Game}.
+     * @param staticGrid the grid indexing the static entities, maintained by the {@link PhysicEngine}.
+     */
+    public CollisionSystem(Game game, SpatialGrid staticGrid) {
+        this.game = game;
+        this.staticGrid = staticGrid;
+    }
+
+    /**
+     * Add a collidable entity. A static one is not kept in the sweep list, but found in the static grid.
+     *
+     * @param e the collidable {@link GameEntity}.
+     */
+    public void add(GameEntity e) {
+        if (e.physicType != PhysicType.STATIC && !e.isStickToCamera() && !bodies.contains(e)) {
+            bodies.add(e);
+        }
+    }
+
+    public void remove(GameEntity e) {
+        bodies.remove(e);
+    }
+
+    public void clear() {
+        bodies.clear();
+        collisionCount = 0;
+    }
+
+    /**
+     * Detect and solve all the contacts between the bodies.
+     */
+    public void update() {
+        sortBodies();
+        collisionCount = 0;
+        int n = bodies.size();
+        for (int i = 0; i < n; i++) {
+            GameEntity a = bodies.get(i);
+            // the collidable flag may have been changed directly on the entity.
+            if (!a.isActive() || !a.isCollidable()) {
+                continue;
+            }
+            double maxX = a.box.getMaxX();
+            for (int j = i + 1; j < n; j++) {
+                GameEntity b = bodies.get(j);
+                if (b.box.getMinX() > maxX) {
+                    break;
+                }
+                if (b.isActive() && b.isCollidable()
+                        && (isAwake(a) || isAwake(b))
+                        && a.box.getMaxY() >= b.box.getMinY() && b.box.getMaxY() >= a.box.getMinY()) {
+                    collide(a, b);
+                }
+            }
+            // against the static collidable entities.
+            if (isMovable(a) && !a.isSleeping()) {
+                List<GameEntity> found = staticGrid.query(a.box, staticFound);
+                for (int s = 0; s < found.size(); s++) {
+                    GameEntity b = found.get(s);
+                    if (b.isActive() && b.isCollidable() && !b.isStickToCamera()) {
+                        collide(a, b);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < collisionCount; i++) {
+            Collision c = collisions.get(i);
+            // an entity may have been deactivated by a previous contact callback (e.g. collected).
+            if (!c.a.isActive() || !c.b.isActive()) {
+                continue;
+            }
+            notify(c.a, c);
+            notify(c.b, c);
+            if (!c.isIgnored()) {
+                resolve(c);
+            }
+        }
+    }
+
+    /**
+     * Keep the bodies sorted on the left side of their box.
+     */
+    private void sortBodies() {
+        for (int i = 0; i < bodies.size(); i++) {
+            // the position may have been changed after the last box update (e.g. by the world constraint).
+            bodies.get(i).updateBox();
+        }
+        for (int i = 1; i < bodies.size(); i++) {
+            GameEntity e = bodies.get(i);
+            double minX = e.box.getMinX();
+            int j = i - 1;
+            while (j >= 0 && bodies.get(j).box.getMinX() > minX) {
+                bodies.set(j + 1, bodies.get(j));
+                j--;
+            }
+            bodies.set(j + 1, e);
+        }
+    }
+
+    private void collide(GameEntity a, GameEntity b) {
+        boolean circleA = a.type == EntityType.CIRCLE;
+        boolean circleB = b.type == EntityType.CIRCLE;
+        if (circleA && circleB) {
+            collideCircles(a, b);
+        } else if (circleA) {
+            collideBoxCircle(b, a, true);
+        } else if (circleB) {
+            collideBoxCircle(a, b, false);
+        } else {
+            collideBoxes(a, b);
+        }
+    }
+
+    private void collideBoxes(GameEntity a, GameEntity b) {
+        double overlapX = Math.min(a.box.getMaxX(), b.box.getMaxX()) - Math.max(a.box.getMinX(), b.box.getMinX());
+        double overlapY = Math.min(a.box.getMaxY(), b.box.getMaxY()) - Math.max(a.box.getMinY(), b.box.getMinY());
+        if (overlapX <= 0 || overlapY <= 0) {
+            return;
+        }
+        if (overlapX < overlapY) {
+            addCollision(a, b, b.box.getCenterX() >= a.box.getCenterX() ? 1 : -1, 0, overlapX);
+        } else {
+            addCollision(a, b, 0, b.box.getCenterY() >= a.box.getCenterY() ? 1 : -1, overlapY);
+        }
+    }
+
+    private void collideCircles(GameEntity a, GameEntity b) {
+        double dx = b.box.getCenterX() - a.box.getCenterX();
+        double dy = b.box.getCenterY() - a.box.getCenterY();
+        double radius = (a.size.x + b.size.x) * 0.5;
+        double distance2 = dx * dx + dy * dy;
+        if (distance2 >= radius * radius) {
+            return;
+        }
+        double distance = Math.sqrt(distance2);
+        if (distance == 0) {
+            addCollision(a, b, 1, 0, radius);
+        } else {
+            addCollision(a, b, dx / distance, dy / distance, radius - distance);
+        }
+    }
+
+    /**
+     * Test a box against a circle.
+     *
+     * @param box     the box entity.
+     * @param circle  the circle entity.
+     * @param swapped true if the circle is the first entity of the pair (the normal is reversed).
+     */
+    private void collideBoxCircle(GameEntity box, GameEntity circle, boolean swapped) {
+        double cx = circle.box.getCenterX();
+        double cy = circle.box.getCenterY();
+        double radius = circle.size.x * 0.5;
+        double closestX = Math.min(Math.max(cx, box.box.getMinX()), box.box.getMaxX());
+        double closestY = Math.min(Math.max(cy, box.box.getMinY()), box.box.getMaxY());
+        double dx = cx - closestX;
+        double dy = cy - closestY;
+        double distance2 = dx * dx + dy * dy;
+        if (distance2 >= radius * radius) {
+            return;
+        }
+        double nx;
+        double ny;
+        double penetration;
+        if (distance2 == 0) {
+            // circle center inside the box: push it out through the nearest side.
+            double left = cx - box.box.getMinX();
+            double right = box.box.getMaxX() - cx;
+            double top = cy - box.box.getMinY();
+            double bottom = box.box.getMaxY() - cy;
+            double min = Math.min(Math.min(left, right), Math.min(top, bottom));
+            nx = min == left ? -1 : min == right ? 1 : 0;
+            ny = nx != 0 ? 0 : min == top ? -1 : 1;
+            penetration = min + radius;
+        } else {
+            double distance = Math.sqrt(distance2);
+            nx = dx / distance;
+            ny = dy / distance;
+            penetration = radius - distance;
+        }
+        if (swapped) {
+            addCollision(circle, box, -nx, -ny, penetration);
+        } else {
+            addCollision(box, circle, nx, ny, penetration);
+        }
+    }
+
+    private void addCollision(GameEntity a, GameEntity b, double nx, double ny, double penetration) {
+        if (collisionCount == collisions.size()) {
+            collisions.add(new Collision());
+        }
+        collisions.get(collisionCount++).set(a, b, nx, ny, penetration);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void notify(GameEntity e, Collision c) {
+        for (Behavior b : e.behaviors) {
+            b.onCollision(game, e, c);
+        }
+    }
+
+    private void resolve(Collision c) {
+        GameEntity a = c.a;
+        GameEntity b = c.b;
+        double invMassA = inverseMass(a);
+        double invMassB = inverseMass(b);
+        double invMassSum = invMassA + invMassB;
+        if (invMassSum == 0) {
+            return;
+        }
+        // impulse, only if the entities get closer.
+        double relativeSpeed = (b.speed.x - a.speed.x) * c.normalX + (b.speed.y - a.speed.y) * c.normalY;
+        if (relativeSpeed < 0) {
+            double restitution = a.material.elasticity * b.material.elasticity;
+            double impulse = -(1 + restitution) * relativeSpeed / invMassSum;
+            a.speed.x -= impulse * c.normalX * invMassA;
+            a.speed.y -= impulse * c.normalY * invMassA;
+            b.speed.x += impulse * c.normalX * invMassB;
+            b.speed.y += impulse * c.normalY * invMassB;
+        }
+        // positional correction
+        double correction = Math.max(c.penetration - CORRECTION_SLOP, 0) / invMassSum * CORRECTION_PERCENT;
+        if (relativeSpeed < 0 || correction > 0) {
+            // a sleeping body hit by an awake one is moved.
+            if (invMassA > 0) {
+                a.wakeUp();
+            }
+            if (invMassB > 0) {
+                b.wakeUp();
+            }
+        }
+        a.position.x -= correction * c.normalX * invMassA;
+        a.position.y -= correction * c.normalY * invMassA;
+        b.position.x += correction * c.normalX * invMassB;
+        b.position.y += correction * c.normalY * invMassB;
+        a.updateBox();
+        b.updateBox();
+    }
+
+    private static boolean isAwake(GameEntity e) {
+        return (isMovable(e) && !e.isSleeping()) || e.physicType == PhysicType.KINEMATIC;
+    }
+
+    private static boolean isMovable(GameEntity e) {
+        return e.physicType == PhysicType.DYNAMIC && !e.isStickToCamera();
+    }
+
+    private static double inverseMass(GameEntity e) {
+        return isMovable(e) ? 1.0 / (e.mass > 0 ? e.mass : 1.0) : 0.0;
+    }
+
+    /**
+     * @return the number of contacts found during the last update.
+     */
+    public int getCollisionCount() {
+        return collisionCount;
+    }
+
+    public int size() {
+        return bodies.size();
+    }
+}
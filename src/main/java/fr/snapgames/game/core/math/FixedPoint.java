@@ -0,0 +1,78 @@
+package fr.snapgames.game.core.math;
+
+/**
+ * Fixed point arithmetic used by the deterministic mode of the {@link PhysicEngine} (see
+ * {@link fr.snapgames.game.core.configuration.ConfigAttribute#PHYSIC_DETERMINISTIC}).
+ * <p>
+ * A value is stored in a long with {@link FixedPoint#FRACTION_BITS} fractional bits (Q47.16): the operations are
+ * integer ones, giving exactly the same results on any machine and JVM, whatever the floating point optimizations
+ * of the JIT compiler. A fixed point value converted back to a double is exact, so the state stored in the
+ * {@link fr.snapgames.game.core.entity.GameEntity} fields stays on the fixed point grid.
+ *
+ * <pre>
+ * long v = FixedPoint.toFixed(entity.speed.x);
+ * v = FixedPoint.mul(v + FixedPoint.mul(a, h), roughness);
+ * entity.speed.x = FixedPoint.toDouble(v);
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public final class FixedPoint {
+    /**
+     * Number of bits of the fractional part.
+     */
+    public static final int FRACTION_BITS = 16;
+    /**
+     * The fixed point value of 1.0.
+     */
+    public static final long ONE = 1L << FRACTION_BITS;
+    // the greatest converted value, keeping some room for the additions.
+    private static final long MAX = Long.MAX_VALUE >> 2;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Convert a double to the nearest fixed point value, saturated for the huge values (e.g. an unlimited
+     * velocity).
+     *
+     * @param value the value to be converted.
+     * @return the fixed point value.
+     */
+    public static long toFixed(double value) {
+        double scaled = value * ONE;
+        if (scaled >= MAX) {
+            return MAX;
+        }
+        if (scaled <= -MAX) {
+            return -MAX;
+        }
+        return Math.round(scaled);
+    }
+
+    /**
+     * @param value a fixed point value.
+     * @return the (exact) double value.
+     */
+    public static double toDouble(long value) {
+        return (double) value / ONE;
+    }
+
+    /**
+     * Multiply two fixed point values, the result being rounded toward negative infinity.
+     */
+    public static long mul(long a, long b) {
+        // the 128 bits product, shifted back by the fractional bits.
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        return (high << (64 - FRACTION_BITS)) | (low >>> FRACTION_BITS);
+    }
+
+    /**
+     * Clamp a fixed point value to [-max, max].
+     */
+    public static long clamp(long value, long max) {
+        return value > max ? max : value < -max ? -max : value;
+    }
+}
@@ -0,0 +1,24 @@
+package fr.snapgames.game.core.math;
+
+/**
+ * The integration schemes available to the {@link PhysicEngine} to compute the speed and position of the bodies
+ * from their acceleration, the forces being constant during an update.
+ * <p>
+ * On each (sub-)step of duration <code>h</code>, with the acceleration <code>a</code> and the roughness
+ * <code>r</code> damping the speed:
+ * <ul>
+ *     <li>{@link Integrator#SEMI_IMPLICIT_EULER}: <code>v' = (v + a.h).r</code>, <code>x' = x + v'.h</code>,
+ *     the cheapest one;</li>
+ *     <li>{@link Integrator#VELOCITY_VERLET}: <code>x' = x + v.h + a.h²/2</code>, <code>v' = (v + a.h).r</code>;</li>
+ *     <li>{@link Integrator#RK2}: the midpoint method, <code>x' = x + (v + a.h/2).sqrt(r).h</code>,
+ *     <code>v' = v.r + a.h.sqrt(r)</code>.</li>
+ * </ul>
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public enum Integrator {
+    SEMI_IMPLICIT_EULER,
+    VELOCITY_VERLET,
+    RK2
+}
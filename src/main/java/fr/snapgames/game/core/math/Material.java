@@ -4,6 +4,9 @@ package fr.snapgames.game.core.math;
  * The {@link Material} class host all Materials characteristics used by {@link PhysicEngine} and {@link fr.snapgames.game.core.entity.GameEntity}
  * and {@link fr.snapgames.game.core.entity.Influencer} to compute
  * Newton's laws physic on the {@link fr.snapgames.game.core.entity.GameEntity}.
+ * <p>
+ * A {@link Material} is immutable: it is shared by the entities and interned by the {@link MaterialRegistry}, a
+ * different material being created to change a characteristic.
  *
  * @author Frédéric Delorme
  * @since 0.0.2
@@ -17,10 +20,12 @@ public class Material {
     public static final Material AIR = new Material("air", 0.0, 0.05, 0.99);
     public static final Material WATER = new Material("water", 0.0, 0.90, 0.80);
 
-    public String name;
-    public double elasticity;
-    public double roughness;
-    public double density;
+    public final String name;
+    public final double elasticity;
+    public final double roughness;
+    public final double density;
+    // identifier given by the MaterialRegistry when interned (the interned instance one for a duplicate).
+    int id = -1;
 
     /**
      * Create a new Material with default values.
@@ -62,16 +67,6 @@ public class Material {
 
     }
 
-    /**
-     * Create a copy of this {@link Material} into a new {@link Material} instance.
-     *
-     * @return a new {@link Material} instance corresponding to a copy of the characteristics
-     */
-    public Material copy() {
-        return new Material(name, elasticity, density, roughness);
-    }
-
-
     @Override
     public String toString() {
         return String.format("%s:%s[%04.2f,%04.2f,%04.2f]", getClass().getSimpleName(), this.name, this.elasticity, this.density, this.roughness);
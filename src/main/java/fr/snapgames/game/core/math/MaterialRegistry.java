@@ -0,0 +1,109 @@
+package fr.snapgames.game.core.math;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@link MaterialRegistry} interns the {@link Material}s and caches their merged combinations, for the
+ * {@link PhysicEngine} to merge the material of an entity with the ones of the influencers it overlaps, on each
+ * update, without creating any {@link Material} nor name {@link String}.
+ * <p>
+ * Interning gives each distinct material (name and characteristics) a unique instance and identifier; the
+ * combinations are stored in a table indexed by the identifiers of the two merged materials, the merged material
+ * being itself interned to be merged again with the next influencer.
+ * <p>
+ * The materials being immutable, the registry is shared by all the games of the JVM, and a material is resolved
+ * by its identifier only, its characteristics not being able to change after it has been registered: a duplicate
+ * instance (same name and characteristics) gets the identifier of the interned one on its first lookup.
+ * The tables only grow with the distinct materials and combinations, not with the instances. The lookups do not
+ * lock: the tables are copied on write, when a new material or combination is registered.
+ *
+ * <pre>
+ * Material m = MaterialRegistry.merge(entity.material, influencer.material);
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class MaterialRegistry {
+    private static final Map<String, Material> interned = new HashMap<>();
+    private static volatile Material[] materials = new Material[0];
+    // merged[a.id][b.id] is the result of a.merge(b).
+    private static volatile Material[][] merged = new Material[0][];
+
+    private MaterialRegistry() {
+        // static registry
+    }
+
+    /**
+     * Retrieve the unique instance of a {@link Material}, registering it if it is a new one.
+     *
+     * @param m the {@link Material} to be interned.
+     * @return the interned instance having the same name and characteristics.
+     */
+    public static Material intern(Material m) {
+        Material[] known = materials;
+        if (m.id >= 0 && m.id < known.length) {
+            // the interned instance itself, or an equal one already resolved to it.
+            return known[m.id];
+        }
+        synchronized (MaterialRegistry.class) {
+            String key = String.format("%s:%s:%s:%s", m.name, m.elasticity, m.density, m.roughness);
+            Material existing = interned.get(key);
+            if (existing != null) {
+                // the next lookups of this duplicate instance do not lock anymore.
+                m.id = existing.id;
+                return existing;
+            }
+            m.id = materials.length;
+            Material[] updated = Arrays.copyOf(materials, m.id + 1);
+            updated[m.id] = m;
+            materials = updated;
+            interned.put(key, m);
+            return m;
+        }
+    }
+
+    /**
+     * Merge 2 materials (see {@link Material#merge(Material)}), the result being computed once and cached.
+     *
+     * @param a the first {@link Material}.
+     * @param b the {@link Material} to merge with.
+     * @return the interned merged {@link Material}.
+     */
+    public static Material merge(Material a, Material b) {
+        a = intern(a);
+        b = intern(b);
+        Material[][] table = merged;
+        if (a.id < table.length) {
+            Material[] row = table[a.id];
+            if (row != null && b.id < row.length && row[b.id] != null) {
+                return row[b.id];
+            }
+        }
+        return register(a, b);
+    }
+
+    private static synchronized Material register(Material a, Material b) {
+        Material[][] table = merged;
+        Material[] row = a.id < table.length ? table[a.id] : null;
+        if (row != null && b.id < row.length && row[b.id] != null) {
+            return row[b.id];
+        }
+        Material result = intern(a.merge(b));
+        Material[] updatedRow = row == null ? new Material[b.id + 1] : Arrays.copyOf(row, Math.max(row.length, b.id + 1));
+        updatedRow[b.id] = result;
+        Material[][] updated = Arrays.copyOf(table, Math.max(table.length, a.id + 1));
+        updated[a.id] = updatedRow;
+        merged = updated;
+        return result;
+    }
+
+    /**
+     * @return the number of interned materials.
+     */
+    public static int size() {
+        return materials.length;
+    }
+}
@@ -5,15 +5,24 @@ import fr.snapgames.game.core.Game;
 import fr.snapgames.game.core.config.OldConfiguration;
 import fr.snapgames.game.core.configuration.ConfigAttribute;
 import fr.snapgames.game.core.configuration.Configuration;
+import fr.snapgames.game.core.entity.Camera;
+import fr.snapgames.game.core.entity.EntityHierarchy;
 import fr.snapgames.game.core.entity.GameEntity;
 import fr.snapgames.game.core.entity.Influencer;
+import fr.snapgames.game.core.monitoring.StatsRegistry;
+import fr.snapgames.game.core.monitoring.events.PhysicUpdateEvent;
 
 import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
 
 import fr.snapgames.game.core.Game;
 import fr.snapgames.game.core.behaviors.Behavior;
@@ -24,21 +33,87 @@ import fr.snapgames.game.core.entity.Influencer;
 /**
  * {@link PhysicEngine} compute acceleration, velocity and position for all {@link GameEntity}
  * into the {@link World#playArea}, according to the {@link World} object
+ * <p>
+ * The entities are updated in the order they have been added, in two passes: first the integration of all the
+ * entities (forces, velocity, position and world constraint), each entity only depending on itself, the
+ * {@link World} and the influencers, their state being integrated in a {@link BodyStore}; then the
+ * {@link Behavior}s, one entity after the other. The integration pass
+ * can be split into chunks run on the {@link ForkJoinPool} (see {@link ConfigAttribute#PHYSIC_PARALLEL}), giving
+ * exactly the same results as the sequential one.
+ * <p>
+ * The bodies are also indexed on the play area, for the gameplay code to ask spatial questions without looking at
+ * all the entities: {@link PhysicEngine#queryRegion(Rectangle2D, List)},
+ * {@link PhysicEngine#queryRadius(Vector2D, double, List)}, {@link PhysicEngine#nearest(Vector2D, Predicate)} and
+ * {@link PhysicEngine#raycast(Vector2D, Vector2D, double, RaycastHit)}. Only the active bodies of the scene are
+ * found, not their children, nor the influencers or the entities stuck to the camera.
+ * <p>
+ * With the level of detail (see {@link ConfigAttribute#PHYSIC_LOD}), the dynamic bodies far from the camera
+ * viewport are integrated every 2nd, 4th or 8th update only, on the time elapsed since their last integration.
+ * <p>
+ * In deterministic mode (see {@link ConfigAttribute#PHYSIC_DETERMINISTIC}), the bodies are integrated in
+ * {@link FixedPoint} arithmetic, and a {@link StateHash} of all the bodies is computed after each update, in the
+ * bodies order, to be compared between two runs (e.g. lockstep peers or the replay of a recorded game).
  *
  * @author : Frédéric Delorme
  * @since 0.0.2
  **/
 public class PhysicEngine {
+    // the distance under which two boxes are touching, a body resting on another one being at this distance.
+    private static final double CONTACT_MARGIN = 1.0;
+    private static final Predicate<GameEntity> ALL_BODIES = e -> true;
 
-    private static final double TIME_FACTOR = 0.45;
     private final Game game;
     private Configuration config;
     private World world;
 
     private Map<String, GameEntity> entities = new ConcurrentHashMap<>();
+    // the updated entities in their insertion order (for the behaviors), and the same ones split by physic role.
+    private final List<GameEntity> bodies = new ArrayList<>();
+    private final List<GameEntity> dynamicBodies = new ArrayList<>();
+    private final List<GameEntity> kinematicBodies = new ArrayList<>();
+    private final List<GameEntity> staticBodies = new ArrayList<>();
+    // the static bodies indexed on the play area, only updated when a static body is added or removed.
+    private final SpatialGrid staticGrid;
+    // the dynamic and kinematic bodies indexed on the play area, updated as they move.
+    private final SpatialGrid bodyGrid;
+    // the influencers indexed on the play area, and the reused list of influencers found for an entity, one per thread.
+    private final List<GameEntity> influencers = new ArrayList<>();
+    private final SpatialGrid influencerGrid;
+    private final ThreadLocal<List<GameEntity>> influencersFound = ThreadLocal.withInitial(ArrayList::new);
+    // the area around a body having left its place, and the reused list of the bodies found in it.
+    private final Rectangle2D supportArea = new Rectangle2D.Double();
+    private final List<GameEntity> supported = new ArrayList<>();
+    private int sleepingBodies = 0;
+    // the box swept by a fast entity during an update, one per thread.
+    private final ThreadLocal<Rectangle2D> sweptBox = ThreadLocal.withInitial(Rectangle2D.Double::new);
+    // the integrated entities state.
+    private final BodyStore store = new BodyStore();
+    private final CollisionSystem collisionSystem;
+    private final boolean collisionEnabled;
+    private final boolean parallel;
+    private final double timeFactor;
+    private final Integrator integrator;
+    private final int subSteps;
+    private final int sleepDelay;
+    private final double minSpeed;
+    private final double minAcceleration;
+    // the gravity of the previous update, to wake up all the bodies when it changes.
+    private double gravityX;
+    private double gravityY;
+    private final int chunkSize;
+    private final boolean deterministic;
+    private final boolean lod;
+    private final double[] lodDistances;
+    private long updateCount = 0;
+    private int lodSkipped = 0;
+    private long stateHash = StateHash.OFFSET;
+    private StatsRegistry.Gauge stateHashStat;
+    // the named forces detail is kept for the entities debug display only.
+    private boolean forceDebug = false;
 
-    private final double maxAcceleration;
-    private final double maxVelocity;
+    // boxed once, as the default values of the per-entity attributes.
+    private final Double maxAcceleration;
+    private final Double maxVelocity;
 
     public PhysicEngine(Game g) {
         this.game = g;
@@ -48,6 +123,37 @@ public class PhysicEngine {
         Dimension playArea = (Dimension) config.get(ConfigAttribute.PLAY_AREA_SIZE);
         Vector2D gravity = (Vector2D) config.get(ConfigAttribute.PHYSIC_GRAVITY);
         world = new World(playArea, gravity);
+        int cellSize = (int) config.get(ConfigAttribute.PHYSIC_GRID_CELL_SIZE);
+        if (cellSize < 1) {
+            System.out.printf("INFO: PhysicEngine:Grid cell size %d is replaced by 1%n", cellSize);
+            cellSize = 1;
+        }
+        influencerGrid = new SpatialGrid(playArea.width, playArea.height, cellSize);
+        staticGrid = new SpatialGrid(playArea.width, playArea.height, cellSize);
+        bodyGrid = new SpatialGrid(playArea.width, playArea.height, cellSize);
+        collisionSystem = new CollisionSystem(g, staticGrid);
+        collisionEnabled = (boolean) config.get(ConfigAttribute.PHYSIC_COLLISION);
+        parallel = (boolean) config.get(ConfigAttribute.PHYSIC_PARALLEL);
+        timeFactor = (double) config.get(ConfigAttribute.PHYSIC_TIME_FACTOR);
+        integrator = (Integrator) config.get(ConfigAttribute.PHYSIC_INTEGRATOR);
+        subSteps = Math.max(1, (int) config.get(ConfigAttribute.PHYSIC_SUB_STEPS));
+        sleepDelay = (int) config.get(ConfigAttribute.PHYSIC_SLEEP_DELAY);
+        minSpeed = (double) config.get(ConfigAttribute.PHYSIC_MIN_SPEED);
+        minAcceleration = (double) config.get(ConfigAttribute.PHYSIC_MIN_ACCELERATION);
+        chunkSize = Math.max(1, (int) config.get(ConfigAttribute.PHYSIC_PARALLEL_CHUNK));
+        deterministic = (boolean) config.get(ConfigAttribute.PHYSIC_DETERMINISTIC);
+        lod = (boolean) config.get(ConfigAttribute.PHYSIC_LOD);
+        lodDistances = (double[]) config.get(ConfigAttribute.PHYSIC_LOD_DISTANCES);
+        if (deterministic) {
+            if (!integrator.equals(Integrator.SEMI_IMPLICIT_EULER)) {
+                System.out.printf("INFO: PhysicEngine:Deterministic mode integrates with %s instead of %s%n",
+                        Integrator.SEMI_IMPLICIT_EULER, integrator);
+            }
+            if (!(boolean) config.get(ConfigAttribute.PHYSIC_FIXED_STEP)) {
+                System.out.printf("INFO: PhysicEngine:Deterministic mode requires %s=true to reproduce the updates%n",
+                        ConfigAttribute.PHYSIC_FIXED_STEP.getConfigKey());
+            }
+        }
     }
 
     public PhysicEngine setWorld(World w) {
@@ -60,64 +166,769 @@ public class PhysicEngine {
     }
 
     public void addEntities(Collection<GameEntity> entities) {
-        entities.stream().forEach(e -> this.entities.put(e.name, e));
+        entities.forEach(this::addEntity);
     }
 
     public void addEntity(GameEntity e) {
-        this.entities.put(e.name, e);
+        GameEntity previous = this.entities.put(e.name, e);
+        if (forceDebug) {
+            setForceDebug(e, true);
+        }
+        if (previous instanceof Influencer) {
+            influencers.remove(previous);
+            influencerGrid.remove(previous);
+        } else if (Optional.ofNullable(previous).isPresent()) {
+            bodies.remove(previous);
+            removeFromBucket(previous);
+            previous.setPhysicTypeListener(null);
+            previous.setDeactivationListener(null);
+            previous.setCollidableListener(null);
+            wakeUpSupported(previous, previous.position.x, previous.position.y);
+        }
+        if (e instanceof Influencer) {
+            influencers.add(e);
+            influencerGrid.insert(e);
+        } else {
+            bodies.add(e);
+            addToBucket(e);
+            e.setPhysicTypeListener(this::changePhysicType);
+            e.setDeactivationListener(this::deactivate);
+            e.setCollidableListener(this::changeCollidable);
+        }
+    }
+
+    /**
+     * The physic role of an entity: {@link PhysicType#STATIC} for the entities never moved by the engine
+     * (including the ones stuck to the camera), else its {@link PhysicType}.
+     */
+    private static PhysicType roleOf(GameEntity e) {
+        return e.isStickToCamera() ? PhysicType.STATIC : e.physicType;
+    }
+
+    private void addToBucket(GameEntity e) {
+        switch (roleOf(e)) {
+            case STATIC -> {
+                staticBodies.add(e);
+                // a static body is only constrained to the world and indexed once.
+                if (Optional.ofNullable(world).isPresent()) {
+                    constrainEntityToWorld(world, e);
+                }
+                e.updateBox();
+                staticGrid.insert(e);
+            }
+            case KINEMATIC -> {
+                kinematicBodies.add(e);
+                e.updateBox();
+                bodyGrid.insert(e);
+            }
+            case DYNAMIC -> {
+                dynamicBodies.add(e);
+                e.updateBox();
+                bodyGrid.insert(e);
+            }
+        }
+        if (e.isCollidable()) {
+            collisionSystem.add(e);
+        }
+    }
+
+    private void removeFromBucket(GameEntity e) {
+        if (dynamicBodies.remove(e) || kinematicBodies.remove(e)) {
+            bodyGrid.remove(e);
+        } else if (staticBodies.remove(e)) {
+            staticGrid.remove(e);
+        }
+        collisionSystem.remove(e);
+    }
+
+    /**
+     * Move an entity to the bucket of its new physic role.
+     *
+     * @param e the {@link GameEntity} whose {@link PhysicType} or camera sticking changed.
+     */
+    private void changePhysicType(GameEntity e) {
+        if (entities.get(e.name) == e) {
+            wakeUpSupported(e, e.position.x, e.position.y);
+            removeFromBucket(e);
+            addToBucket(e);
+            e.wakeUp();
+        }
+    }
+
+    /**
+     * Add an entity to or remove it from the {@link CollisionSystem} when it becomes collidable or not.
+     *
+     * @param e the {@link GameEntity} whose collidable flag changed.
+     */
+    private void changeCollidable(GameEntity e) {
+        if (entities.get(e.name) == e) {
+            if (e.isCollidable()) {
+                collisionSystem.add(e);
+            } else {
+                // the bodies resting on it are not supported anymore.
+                wakeUpTouching(e, e.position.x, e.position.y);
+                collisionSystem.remove(e);
+            }
+        }
+    }
+
+    private void deactivate(GameEntity e) {
+        if (entities.get(e.name) == e) {
+            wakeUpSupported(e, e.position.x, e.position.y);
+        }
+    }
+
+    /**
+     * Wake up the sleeping bodies overlapping or touching the box a collidable body had at a position, as this body
+     * may have been supporting them: it has been deactivated, removed, its physic type changed, or it moved away.
+     * A sleeping body is not moved by the collisions with another sleeping one, and would stay in place without
+     * its support otherwise.
+     *
+     * @param support the {@link GameEntity} having left its place.
+     * @param x       the horizontal position of its previous box.
+     * @param y       the vertical position of its previous box.
+     */
+    private void wakeUpSupported(GameEntity support, double x, double y) {
+        if (support.isCollidable()) {
+            wakeUpTouching(support, x, y);
+        }
+    }
+
+    /**
+     * Wake up the sleeping collidable bodies overlapping or touching the box an entity had at a position.
+     */
+    private void wakeUpTouching(GameEntity support, double x, double y) {
+        supportArea.setRect(x - CONTACT_MARGIN, y - CONTACT_MARGIN,
+                support.size.x + 2 * CONTACT_MARGIN, support.size.y + 2 * CONTACT_MARGIN);
+        bodyGrid.query(supportArea, supported);
+        for (int i = 0; i < supported.size(); i++) {
+            GameEntity body = supported.get(i);
+            if (body != support && body.isSleeping() && body.isCollidable()) {
+                body.wakeUp();
+            }
+        }
+    }
+
+    /**
+     * Wake up the sleeping bodies around the awake collidable bodies which moved on this update.
+     */
+    private void wakeUpOnMoves() {
+        if (sleepingBodies == 0) {
+            return;
+        }
+        wakeUpOnMoves(dynamicBodies);
+        wakeUpOnMoves(kinematicBodies);
+    }
+
+    private void wakeUpOnMoves(List<GameEntity> movables) {
+        for (int i = 0; i < movables.size(); i++) {
+            GameEntity e = movables.get(i);
+            if (e.isActive() && !e.isSleeping() && e.isCollidable()
+                    && (e.position.x != e.previousPosition.x || e.position.y != e.previousPosition.y)) {
+                wakeUpSupported(e, e.previousPosition.x, e.previousPosition.y);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the static bodies overlapping an area.
+     *
+     * @param area   the area to be tested.
+     * @param result the list to be filled with the found static bodies (cleared first).
+     * @return the result list.
+     */
+    public List<GameEntity> findStaticBodies(Rectangle2D area, List<GameEntity> result) {
+        return staticGrid.query(area, result);
+    }
+
+    /**
+     * Retrieve the bodies overlapping an area.
+     *
+     * @param area   the area to be tested.
+     * @param result the list to be filled with the found bodies (cleared first).
+     * @return the result list.
+     */
+    public List<GameEntity> queryRegion(Rectangle2D area, List<GameEntity> result) {
+        result.clear();
+        bodyGrid.collect(area, PhysicEngine::isQueryable, result);
+        staticGrid.collect(area, PhysicEngine::isQueryable, result);
+        return result;
+    }
+
+    /**
+     * Retrieve the bodies whose box is at a distance of a point less or equal to a radius.
+     *
+     * @param center the center of the searched area.
+     * @param radius the radius of the searched area.
+     * @param result the list to be filled with the found bodies (cleared first).
+     * @return the result list.
+     */
+    public List<GameEntity> queryRadius(Vector2D center, double radius, List<GameEntity> result) {
+        result.clear();
+        bodyGrid.collectInRadius(center.x, center.y, radius, PhysicEngine::isQueryable, result);
+        staticGrid.collectInRadius(center.x, center.y, radius, PhysicEngine::isQueryable, result);
+        return result;
+    }
+
+    /**
+     * Find the body whose box is the nearest to a point.
+     *
+     * @param point  the point to search from.
+     * @param filter the filter the body must match (e.g. to exclude the searching entity itself).
+     * @return the nearest body, or null if none matches the filter.
+     */
+    public GameEntity nearest(Vector2D point, Predicate<GameEntity> filter) {
+        return nearest(point, Double.POSITIVE_INFINITY, filter);
+    }
+
+    /**
+     * Find the body whose box is the nearest to a point, in a maximum distance.
+     *
+     * @param point       the point to search from.
+     * @param maxDistance the maximum distance of the body box to the point.
+     * @param filter      the filter the body must match (e.g. to exclude the searching entity itself).
+     * @return the nearest body, or null if none is in range.
+     */
+    public GameEntity nearest(Vector2D point, double maxDistance, Predicate<GameEntity> filter) {
+        GameEntity body = bodyGrid.nearest(point.x, point.y, maxDistance, PhysicEngine::isQueryable, filter);
+        if (Optional.ofNullable(body).isPresent()) {
+            maxDistance = Math.sqrt(SpatialGrid.distanceSq(body.box, point.x, point.y));
+        }
+        GameEntity staticBody = staticGrid.nearest(point.x, point.y, maxDistance,
+                PhysicEngine::isQueryable, filter);
+        if (Optional.ofNullable(staticBody).isPresent() && (Optional.ofNullable(body).isEmpty()
+                || SpatialGrid.distanceSq(staticBody.box, point.x, point.y)
+                < SpatialGrid.distanceSq(body.box, point.x, point.y))) {
+            return staticBody;
+        }
+        return body;
+    }
+
+    /**
+     * Cast a ray and retrieve the first body hit.
+     *
+     * @param origin      the origin of the ray.
+     * @param direction   the direction of the ray (not necessarily normalized).
+     * @param maxDistance the length of the ray.
+     * @param hit         the {@link RaycastHit} to be filled with the first body hit.
+     * @return true if a body has been hit.
+     */
+    public boolean raycast(Vector2D origin, Vector2D direction, double maxDistance, RaycastHit hit) {
+        return raycast(origin, direction, maxDistance, ALL_BODIES, hit);
+    }
+
+    /**
+     * Cast a ray and retrieve the first body hit matching a filter.
+     *
+     * @param origin      the origin of the ray.
+     * @param direction   the direction of the ray (not necessarily normalized).
+     * @param maxDistance the length of the ray.
+     * @param filter      the filter the body must match (e.g. to exclude the casting entity itself).
+     * @param hit         the {@link RaycastHit} to be filled with the first body hit.
+     * @return true if a body has been hit.
+     */
+    public boolean raycast(Vector2D origin, Vector2D direction, double maxDistance, Predicate<GameEntity> filter,
+            RaycastHit hit) {
+        hit.reset(maxDistance);
+        double length = Math.sqrt(direction.x * direction.x + direction.y * direction.y);
+        if (length == 0) {
+            return false;
+        }
+        double dx = direction.x / length;
+        double dy = direction.y / length;
+        bodyGrid.raycast(origin.x, origin.y, dx, dy, PhysicEngine::isQueryable, filter, hit);
+        staticGrid.raycast(origin.x, origin.y, dx, dy, PhysicEngine::isQueryable, filter, hit);
+        return hit.hasHit();
+    }
+
+    private static boolean isQueryable(GameEntity e) {
+        return e.isActive() && !e.isStickToCamera();
+    }
+
+    /**
+     * Move the bodies to the cells of their new position in the bodies grid (only the ones having left their
+     * cells are actually moved).
+     */
+    private void updateBodyGrid() {
+        for (int i = 0; i < dynamicBodies.size(); i++) {
+            bodyGrid.update(dynamicBodies.get(i));
+        }
+        for (int i = 0; i < kinematicBodies.size(); i++) {
+            bodyGrid.update(kinematicBodies.get(i));
+        }
     }
 
     public void update(double elapsed) {
-        double time = elapsed * TIME_FACTOR;
-        entities.values().stream()
-                .filter(e -> e.isActive() && !(e instanceof Influencer))
-                .forEach(entity -> {
-                    updateEntity(entity, time);
-                    if (Optional.ofNullable(world).isPresent()) {
+        PhysicUpdateEvent event = new PhysicUpdateEvent();
+        event.begin();
+        updateGrids();
+        updateForceDebug();
+        double time = elapsed * timeFactor;
+        wakeUpOnGravityChange();
+        prepareBodies(time);
+        if (parallel && store.size() > chunkSize) {
+            ForkJoinPool.commonPool().invoke(new IntegrationTask(0, store.size()));
+        } else {
+            integrateRange(0, store.size());
+        }
+        moveKinematicBodies(time);
+        wakeUpOnMoves();
+        // the behaviors query the bodies at their integrated position.
+        updateBodyGrid();
+        for (int i = 0; i < bodies.size(); i++) {
+            GameEntity entity = bodies.get(i);
+            if (entity.isActive()) {
+                applyBehaviors(entity, time);
+            }
+        }
+        if (collisionEnabled) {
+            collisionSystem.update();
+            updateBodyGrid();
+        }
+        updateTransforms();
+        if (deterministic) {
+            updateStateHash();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.stateHash = stateHash;
+            event.entities = entities.size();
+            event.collisions = collisionEnabled ? collisionSystem.getCollisionCount() : 0;
+            event.lodSkipped = lodSkipped;
+            for (GameEntity e : entities.values()) {
+                if (e instanceof Influencer) {
+                    event.influencers++;
+                } else if (e.isActive()) {
+                    event.updated++;
+                    if (e.isSleeping()) {
+                        event.sleeping++;
+                    }
+                }
+            }
+            event.commit();
+        }
+    }
+
+    /**
+     * Hash the state of all the bodies and their children, in the bodies order: identifier, activity, sleeping
+     * state, position and speed rounded to their {@link FixedPoint} value.
+     */
+    private void updateStateHash() {
+        long hash = StateHash.OFFSET;
+        for (int i = 0; i < bodies.size(); i++) {
+            GameEntity entity = bodies.get(i);
+            hash = hashBody(hash, entity);
+            EntityHierarchy h = entity.getHierarchy();
+            for (int c = 0; c < h.size(); c++) {
+                hash = hashBody(hash, h.get(c));
+            }
+        }
+        stateHash = hash;
+        if (Optional.ofNullable(stateHashStat).isPresent()) {
+            stateHashStat.set(hash);
+        }
+    }
+
+    private static long hashBody(long hash, GameEntity e) {
+        hash = StateHash.mix(hash, e.id);
+        hash = StateHash.mix(hash, (e.isActive() ? 1 : 0) | (e.isSleeping() ? 2 : 0));
+        hash = StateHash.mix(hash, FixedPoint.toFixed(e.position.x));
+        hash = StateHash.mix(hash, FixedPoint.toFixed(e.position.y));
+        hash = StateHash.mix(hash, FixedPoint.toFixed(e.speed.x));
+        return StateHash.mix(hash, FixedPoint.toFixed(e.speed.y));
+    }
+
+    /**
+     * @return the hash of the bodies state after the last update (deterministic mode only).
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    /**
+     * Register the state hash into the statistics, in deterministic mode only.
+     *
+     * @param stats the {@link StatsRegistry} to be completed.
+     */
+    public void registerStats(StatsRegistry stats) {
+        if (deterministic) {
+            stateHashStat = stats.gauge("hash");
+        }
+    }
+
+    /**
+     * Reserve a {@link BodyStore} slot for each dynamic entity to be integrated, in the bodies order, each entity
+     * being followed by its children. With the level of detail, a body far from the camera is only integrated every
+     * few updates, on the time elapsed since its previous integration.
+     */
+    private void prepareBodies(double elapsed) {
+        store.clear();
+        updateCount++;
+        lodSkipped = 0;
+        sleepingBodies = 0;
+        Camera camera = lod ? game.getRenderer().getCurrentCamera() : null;
+        for (int i = 0; i < dynamicBodies.size(); i++) {
+            GameEntity entity = dynamicBodies.get(i);
+            if (entity.isActive()) {
+                if (entity.isSleeping() && hasOwnForce(entity)) {
+                    entity.wakeUp();
+                }
+                if (entity.isSleeping()) {
+                    // forces too small to wake the body up are dropped.
+                    entity.clearForces();
+                    sleepingBodies++;
+                    continue;
+                }
+                entity.lodTicks++;
+                entity.lodElapsed += elapsed;
+                if (Optional.ofNullable(camera).isPresent() && isLodSkipped(entity, camera)) {
+                    // not moved on this update.
+                    entity.previousPosition.set(entity.position);
+                    lodSkipped++;
+                } else {
+                    addToStore(entity, entity.lodElapsed, entity.lodTicks);
+                    entity.lodTicks = 0;
+                    entity.lodElapsed = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if a body is not integrated on this update: the farther it is from the camera viewport (see
+     * {@link ConfigAttribute#PHYSIC_LOD_DISTANCES}), the longer its integration interval (2, 4 or 8 updates). The
+     * bodies of a same interval are spread on the updates according to their identifier, and a body coming back
+     * near the camera is integrated at once on all the time elapsed since its last integration. The camera target is
+     * always integrated.
+     */
+    private boolean isLodSkipped(GameEntity entity, Camera camera) {
+        if (entity == camera.target) {
+            return false;
+        }
+        Rectangle2D viewport = camera.viewport;
+        double dx = Math.max(Math.max(viewport.getMinX() - entity.box.getMaxX(), 0),
+                entity.box.getMinX() - viewport.getMaxX());
+        double dy = Math.max(Math.max(viewport.getMinY() - entity.box.getMaxY(), 0),
+                entity.box.getMinY() - viewport.getMaxY());
+        double distanceSq = dx * dx + dy * dy;
+        int interval = 1;
+        for (int k = 0; k < lodDistances.length; k++) {
+            if (distanceSq > lodDistances[k] * lodDistances[k]) {
+                interval = 2 << k;
+            }
+        }
+        return interval > 1 && entity.lodTicks < interval && (updateCount + entity.id) % interval != 0;
+    }
+
+    /**
+     * Move the kinematic bodies according to their speed only.
+     */
+    private void moveKinematicBodies(double elapsed) {
+        for (int i = 0; i < kinematicBodies.size(); i++) {
+            GameEntity entity = kinematicBodies.get(i);
+            if (entity.isActive()) {
+                entity.previousPosition.set(entity.position);
+                entity.position.addLocal(entity.speed.x * elapsed, entity.speed.y * elapsed);
+                entity.clearForces();
+                entity.updateBox();
+            }
+        }
+    }
+
+    /**
+     * Add a body and its integrated children to the store, the forces accumulated by their behaviors on several
+     * updates being averaged on these updates.
+     */
+    private void addToStore(GameEntity entity, double elapsed, int updates) {
+        addToStore(entity, true, elapsed, updates);
+        EntityHierarchy h = entity.getHierarchy();
+        for (int i = 0; i < h.size(); i++) {
+            GameEntity c = h.get(i);
+            if (isIntegrated(c)) {
+                addToStore(c, false, elapsed, updates);
+            } else {
+                // the children of a non integrated entity are not integrated either.
+                i += h.getSubtreeSize(i);
+            }
+        }
+    }
+
+    private void addToStore(GameEntity entity, boolean root, double elapsed, int updates) {
+        int slot = store.add(entity, root);
+        store.dt[slot] = elapsed;
+        store.updates[slot] = updates;
+        if (updates > 1) {
+            entity.forceX /= updates;
+            entity.forceY /= updates;
+        }
+    }
+
+    private boolean hasOwnForce(GameEntity entity) {
+        return Math.abs(entity.forceX) > minAcceleration || Math.abs(entity.forceY) > minAcceleration;
+    }
+
+    /**
+     * Keep the named forces detail of all the entities when the entities debug information is displayed.
+     */
+    private void updateForceDebug() {
+        boolean flag = game.getDebug() > 2;
+        if (flag != forceDebug) {
+            forceDebug = flag;
+            for (GameEntity e : entities.values()) {
+                setForceDebug(e, flag);
+            }
+        }
+    }
+
+    private static void setForceDebug(GameEntity entity, boolean flag) {
+        entity.setForceDebug(flag);
+        EntityHierarchy h = entity.getHierarchy();
+        for (int i = 0; i < h.size(); i++) {
+            h.get(i).setForceDebug(flag);
+        }
+    }
+
+    /**
+     * Count the updates a scene body rests (moving slower than {@link PhysicEngine#minSpeed} without any force
+     * from its behaviors), and put it to sleep after {@link PhysicEngine#sleepDelay} ones. A body with children
+     * never sleeps, as they are only integrated with their parent.
+     */
+    private void updateSleep(int i, GameEntity entity, double elapsed) {
+        if (sleepDelay <= 0 || entity.hasChildren()) {
+            return;
+        }
+        double limit = minSpeed * elapsed;
+        if (store.ownForce[i] <= minAcceleration
+                && Math.abs(entity.position.x - entity.previousPosition.x) <= limit
+                && Math.abs(entity.position.y - entity.previousPosition.y) <= limit) {
+            if (++entity.restingTicks >= sleepDelay) {
+                entity.sleeping = true;
+                entity.speed.set(0, 0);
+                entity.acceleration.set(0, 0);
+                entity.previousPosition.set(entity.position);
+            }
+        } else {
+            entity.restingTicks = 0;
+        }
+    }
+
+    private void wakeUpOnGravityChange() {
+        if (Optional.ofNullable(world).isPresent()
+                && (world.getGravity().x != gravityX || world.getGravity().y != gravityY)) {
+            gravityX = world.getGravity().x;
+            gravityY = world.getGravity().y;
+            for (int i = 0; i < dynamicBodies.size(); i++) {
+                dynamicBodies.get(i).wakeUp();
+            }
+        }
+    }
+
+    private static boolean isIntegrated(GameEntity entity) {
+        // an attached child follows its parent instead of being integrated.
+        return !entity.isStickToCamera() && entity.physicType.equals(PhysicType.DYNAMIC)
+                && Optional.ofNullable(entity.localPosition).isEmpty();
+    }
+
+    /**
+     * Integrate a range of the {@link BodyStore} slots in the calling thread: gather the entities state, integrate
+     * it, then scatter it back to the entities and constrain the scene entities to the world.
+     */
+    private void integrateRange(int from, int to) {
+        List<GameEntity> found = influencersFound.get();
+        Rectangle2D swept = sweptBox.get();
+        for (int i = from; i < to; i++) {
+            gather(i, found, swept);
+        }
+        if (deterministic) {
+            store.integrateFixed(from, to, subSteps);
+        } else {
+            store.integrate(from, to, integrator, subSteps);
+        }
+        for (int i = from; i < to; i++) {
+            GameEntity entity = store.getEntity(i);
+            scatter(i, entity);
+            if (store.isRoot(i)) {
+                if (Optional.ofNullable(world).isPresent()) {
+                    if (entity.isFast()) {
+                        sweepEntityToWorld(world, entity);
+                    } else {
                         constrainEntityToWorld(world, entity);
                     }
-                });
+                }
+                updateSleep(i, entity, store.dt[i]);
+            }
+        }
     }
 
-    public void updateEntity(GameEntity entity, double elapsed) {
+    /**
+     * Integrate a range of the {@link BodyStore} slots, split into chunks of at most {@link PhysicEngine#chunkSize}
+     * slots.
+     */
+    private class IntegrationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+
+        IntegrationTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
 
-        if (!entity.isStickToCamera() && entity.physicType.equals(PhysicType.DYNAMIC)) {
-            // apply gravity
-            entity.forces.add(world.getGravity().negate());
-            // Apply influencer Effects (Material and force impacted)
-            Material material = appliedInfluencerToEntity(entity, world);
-            // compute acceleration
-            entity.acceleration = entity.acceleration.addAll(entity.forces).multiply(material.density);
-            entity.acceleration = entity.acceleration.multiply((double) entity.mass);
-            entity.acceleration.maximize((double) entity.getAttribute("maxAcceleration", maxAcceleration));
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                integrateRange(from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new IntegrationTask(from, middle), new IntegrationTask(middle, to));
+            }
+        }
+    }
 
-            // compute velocity
-            double roughness = entity.contact == 0 ? world.getMaterial().roughness : world.getMaterial().roughness * material.roughness;
-            entity.speed = entity.speed.add(entity.acceleration.multiply(elapsed)).multiply(roughness);
-            entity.speed.maximize((double) entity.getAttribute("maxVelocity", maxVelocity));
+    /**
+     * Copy the state of an entity into its slot: position, speed and mass, the sum of its forces (accumulated
+     * own forces, gravity and influencers ones, in this order), and the material characteristics merged with the
+     * influencers. A fast entity gets the influencers crossed by its whole move, estimated from its current speed,
+     * so that it does not pass through a thin one between two updates.
+     */
+    private void gather(int i, List<GameEntity> found, Rectangle2D swept) {
+        GameEntity entity = store.getEntity(i);
+        double elapsed = store.dt[i];
+        // keep track of the previous state for rendering interpolation.
+        entity.previousPosition.x = entity.position.x;
+        entity.previousPosition.y = entity.position.y;
+        double forceX = entity.forceX;
+        double forceY = entity.forceY;
+        store.ownForce[i] = Math.max(Math.abs(forceX), Math.abs(forceY));
+        // apply gravity
+        forceX += -world.getGravity().x;
+        forceY += -world.getGravity().y;
+        // Apply influencer Effects (Material and force impacted)
+        // once interned, the material is merged with the influencers ones without any lookup by name.
+        entity.material = MaterialRegistry.intern(entity.material);
+        Material material = entity.material;
+        Rectangle2D box = entity.box;
+        if (entity.isFast()) {
+            swept.setRect(entity.box);
+            swept.add(entity.box.getMinX() + entity.speed.x * elapsed, entity.box.getMinY() + entity.speed.y * elapsed);
+            swept.add(entity.box.getMaxX() + entity.speed.x * elapsed, entity.box.getMaxY() + entity.speed.y * elapsed);
+            box = swept;
+        }
+        List<GameEntity> influencerList = influencerGrid.query(box, found);
+        for (int n = 0; n < influencerList.size(); n++) {
+            GameEntity ge = influencerList.get(n);
+            material = MaterialRegistry.merge(material, ge.material);
+            forceX += ge.forceX;
+            forceY += ge.forceY;
+        }
+        store.x[i] = entity.position.x;
+        store.y[i] = entity.position.y;
+        store.vx[i] = entity.speed.x;
+        store.vy[i] = entity.speed.y;
+        store.fx[i] = forceX;
+        store.fy[i] = forceY;
+        store.mass[i] = entity.mass;
+        store.density[i] = material.density;
+        double roughness = entity.contact == 0
+                ? world.getMaterial().roughness
+                : world.getMaterial().roughness * material.roughness;
+        // the damping is applied once per update: a body integrated less often is damped for all the skipped ones.
+        store.roughness[i] = store.updates[i] > 1 ? StrictMath.pow(roughness, store.updates[i]) : roughness;
+        store.maxAcceleration[i] = (double) entity.getAttribute("maxAcceleration", maxAcceleration);
+        store.maxVelocity[i] = (double) entity.getAttribute("maxVelocity", maxVelocity);
+    }
 
-            // compute position
-            entity.position = entity.position.add(entity.speed.multiply(elapsed));
-            entity.getChild().forEach(c -> updateEntity(c, elapsed));
-            entity.forces.clear();
-            entity.updateBox();
+    /**
+     * Copy the integrated state of a slot back to its entity.
+     */
+    private void scatter(int i, GameEntity entity) {
+        entity.position.x = store.x[i];
+        entity.position.y = store.y[i];
+        entity.speed.x = store.vx[i];
+        entity.speed.y = store.vy[i];
+        entity.acceleration.x = store.ax[i];
+        entity.acceleration.y = store.ay[i];
+        entity.clearForces();
+        entity.updateBox();
+    }
+
+    private void applyBehaviors(GameEntity entity, double elapsed) {
+        updateBehaviors(entity, elapsed);
+        if (isIntegrated(entity)) {
+            EntityHierarchy h = entity.getHierarchy();
+            for (int i = 0; i < h.size(); i++) {
+                GameEntity c = h.get(i);
+                updateBehaviors(c, elapsed);
+                if (!isIntegrated(c)) {
+                    i += h.getSubtreeSize(i);
+                }
+            }
         }
+    }
+
+    private void updateBehaviors(GameEntity entity, double elapsed) {
         for (Behavior b : entity.behaviors) {
             b.update(game, entity, elapsed);
         }
     }
 
-    private Material appliedInfluencerToEntity(GameEntity e, World world) {
-        Material material = e.material.copy();
-        List<GameEntity> influencerList = entities.values().stream()
-                .filter(i -> i instanceof Influencer)
-                .filter(i -> i.box.intersects(e.box.getBounds2D()))
-                .toList();
-        for (GameEntity ge : influencerList) {
-            material = material.merge(ge.material);
-            e.addForces(ge.forces);
+    /**
+     * Move the attached children (see {@link GameEntity#localPosition}) of the bodies having moved.
+     */
+    private void updateTransforms() {
+        for (int i = 0; i < bodies.size(); i++) {
+            GameEntity entity = bodies.get(i);
+            if (entity.isActive() && entity.hasChildren()) {
+                entity.updateTransforms();
+            }
+        }
+    }
+
+    /**
+     * Keep the influencers and static bodies grids up to date with the play area, and the influencers grid with
+     * the influencers' positions.
+     */
+    private void updateGrids() {
+        if (Optional.ofNullable(world).isPresent()
+                && !influencerGrid.covers(world.getPlayArea().width, world.getPlayArea().height)) {
+            influencerGrid.resize(world.getPlayArea().width, world.getPlayArea().height);
+            staticGrid.resize(world.getPlayArea().width, world.getPlayArea().height);
+            bodyGrid.resize(world.getPlayArea().width, world.getPlayArea().height);
+        }
+        for (int i = 0; i < influencers.size(); i++) {
+            GameEntity influencer = influencers.get(i);
+            influencer.updateBox();
+            influencerGrid.update(influencer);
+            if (influencer.position.x != influencer.previousPosition.x
+                    || influencer.position.y != influencer.previousPosition.y) {
+                wakeUpOverlapping(influencer);
+                influencer.previousPosition.set(influencer.position);
+            }
+        }
+    }
+
+    /**
+     * Wake up the sleeping bodies overlapping a moved influencer, at its previous or current position, from the
+     * bodies grid.
+     */
+    private void wakeUpOverlapping(GameEntity influencer) {
+        supported.clear();
+        bodyGrid.collect(influencer.box, PhysicEngine::isSleepingDynamic, supported);
+        supportArea.setRect(influencer.previousPosition.x, influencer.previousPosition.y,
+                influencer.size.x, influencer.size.y);
+        bodyGrid.collect(supportArea, PhysicEngine::isSleepingDynamic, supported);
+        for (int i = 0; i < supported.size(); i++) {
+            // a body overlapping both boxes is found twice.
+            supported.get(i).wakeUp();
         }
-        return material;
+    }
+
+    private static boolean isSleepingDynamic(GameEntity e) {
+        return e.isSleeping() && e.physicType.equals(PhysicType.DYNAMIC);
     }
 
     /**
@@ -156,7 +967,62 @@ public class PhysicEngine {
         }
     }
 
+    /**
+     * Constrain a fast GameEntity to stay in the world play area, from its move during the update: on each axis
+     * where it moved more than half its size and crossed a side of the play area, the part of the move after the
+     * time of impact is reflected by the side according to the entity elasticity, instead of only stopping the
+     * entity on the side. Slower moves (e.g. resting on the floor) are constrained as usual.
+     *
+     * @param world the defne World for the Game
+     * @param ge    the GameEntity moved from its previous position to its position.
+     */
+    private void sweepEntityToWorld(World world, GameEntity ge) {
+        double elasticity = ge.material.elasticity;
+        double maxX = world.getPlayArea().width - ge.size.x;
+        double maxY = world.getPlayArea().height - ge.size.y;
+        int contact = 0;
+        if (Math.abs(ge.position.x - ge.previousPosition.x) > ge.size.x * 0.5) {
+            if (ge.position.x > maxX && ge.previousPosition.x <= maxX) {
+                ge.position.x = maxX - (ge.position.x - maxX) * elasticity;
+                ge.speed.x = ge.speed.x * -elasticity;
+                contact += 1;
+            } else if (ge.position.x < 0 && ge.previousPosition.x >= 0) {
+                ge.position.x = -ge.position.x * elasticity;
+                ge.speed.x = ge.speed.x * -elasticity;
+                contact += 2;
+            }
+        }
+        if (Math.abs(ge.position.y - ge.previousPosition.y) > ge.size.y * 0.5) {
+            if (ge.position.y > maxY && ge.previousPosition.y <= maxY) {
+                ge.position.y = maxY - (ge.position.y - maxY) * elasticity;
+                ge.speed.y = ge.speed.y * -elasticity;
+                contact += 4;
+            } else if (ge.position.y < 0 && ge.previousPosition.y >= 0) {
+                ge.position.y = -ge.position.y * elasticity;
+                ge.speed.y = ge.speed.y * -elasticity;
+                contact += 8;
+            }
+        }
+        // slow moves, moves started out of the play area, or reflected further than the opposite side.
+        constrainEntityToWorld(world, ge);
+        ge.contact |= contact;
+    }
+
     public void reset() {
         entities.clear();
+        bodies.clear();
+        dynamicBodies.clear();
+        kinematicBodies.clear();
+        staticBodies.clear();
+        staticGrid.clear();
+        bodyGrid.clear();
+        influencers.clear();
+        influencerGrid.clear();
+        collisionSystem.clear();
+        store.clear();
+    }
+
+    public CollisionSystem getCollisionSystem() {
+        return collisionSystem;
     }
 }
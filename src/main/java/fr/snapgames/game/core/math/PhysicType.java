@@ -5,6 +5,17 @@ package fr.snapgames.game.core.math;
  * @since 0.0.3
  **/
 public enum PhysicType {
+    /**
+     * never moved by the {@link PhysicEngine}.
+     */
     STATIC,
-    DYNAMIC
+    /**
+     * moved by the forces, the gravity, the influencers and the collisions.
+     */
+    DYNAMIC,
+    /**
+     * moved by its speed only, e.g. a moving platform: it pushes the dynamic entities it collides with, as an
+     * infinite mass.
+     */
+    KINEMATIC
 }
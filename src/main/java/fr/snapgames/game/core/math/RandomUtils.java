@@ -1,6 +1,7 @@
 package fr.snapgames.game.core.math;
 
 import java.awt.*;
+import java.util.Random;
 
 /**
  * Provide some randomness to java components
@@ -19,6 +20,16 @@ public class RandomUtils {
         return new Color((float) Math.random(), (float) Math.random(), (float) Math.random());
     }
 
+    /**
+     * Generate a total random color from a {@link Random} generator.
+     *
+     * @param random the {@link Random} generator to be used.
+     * @return a randomly generated color.
+     */
+    public static Color randomColor(Random random) {
+        return new Color(random.nextFloat(), random.nextFloat(), random.nextFloat());
+    }
+
     public static Color randomRangedColor(float red, float green, float blue, float alpha, float rangeRandom) {
         return new Color((float) (red * Math.random() * rangeRandom),
                 (float) (green * Math.random() * rangeRandom),
@@ -57,6 +68,39 @@ public class RandomUtils {
         );
     }
 
+    /**
+     * Generate a new color with red, green and blue color component range and an alpha channel range, from a
+     * {@link Random} generator.
+     *
+     * @param random the {@link Random} generator to be used.
+     * @param minRed
+     * @param maxRed
+     * @param minGreen
+     * @param maxGreen
+     * @param minBlue
+     * @param maxBlue
+     * @param minAlpha
+     * @param maxAlpha
+     * @return a randomly generated color.
+     */
+    public static Color randomColorMinMax(
+            Random random,
+            float minRed,
+            float maxRed,
+            float minGreen,
+            float maxGreen,
+            float minBlue,
+            float maxBlue,
+            float minAlpha,
+            float maxAlpha) {
+        return new Color(
+                minRed + (random.nextFloat() * (maxRed - minRed)),
+                minGreen + (random.nextFloat() * (maxGreen - minGreen)),
+                minBlue + (random.nextFloat() * (maxBlue - minBlue)),
+                minAlpha + (random.nextFloat() * (maxAlpha - minAlpha))
+        );
+    }
+
     /**
      * random generate {@link Vector2D} in a {@link Dimension} playArea.
      *
@@ -66,4 +110,15 @@ public class RandomUtils {
     public static Vector2D ramdomVector(Dimension playArea) {
         return new Vector2D(Math.random() * playArea.getWidth(), Math.random() * playArea.getHeight());
     }
+
+    /**
+     * random generate {@link Vector2D} in a {@link Dimension} playArea, from a {@link Random} generator.
+     *
+     * @param random   the {@link Random} generator to be used.
+     * @param playArea the {@link Dimension} instance where so spread the rando {@link Vector2D}.
+     * @return a randomly generated {@link Vector2D}.
+     */
+    public static Vector2D ramdomVector(Random random, Dimension playArea) {
+        return new Vector2D(random.nextDouble() * playArea.getWidth(), random.nextDouble() * playArea.getHeight());
+    }
 }
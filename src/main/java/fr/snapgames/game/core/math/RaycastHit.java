@@ -0,0 +1,54 @@
+package fr.snapgames.game.core.math;
+
+import fr.snapgames.game.core.entity.GameEntity;
+
+/**
+ * The result of a ray cast through the {@link PhysicEngine} bodies, see
+ * {@link PhysicEngine#raycast(Vector2D, Vector2D, double, RaycastHit)}.
+ * <p>
+ * A {@link RaycastHit} is provided by the caller, to be reused from one cast to the other.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class RaycastHit {
+    /**
+     * The first entity hit by the ray, null if none has been hit.
+     */
+    public GameEntity entity;
+    /**
+     * The distance from the ray origin to the hit point.
+     */
+    public double distance;
+    /**
+     * The point where the ray enters the entity box.
+     */
+    public double x;
+    public double y;
+    /**
+     * The normal of the box side hit by the ray (0,0 if the ray starts inside the box).
+     */
+    public double normalX;
+    public double normalY;
+
+    void reset(double maxDistance) {
+        this.entity = null;
+        this.distance = maxDistance;
+        this.x = 0;
+        this.y = 0;
+        this.normalX = 0;
+        this.normalY = 0;
+    }
+
+    /**
+     * @return true if an entity has been hit.
+     */
+    public boolean hasHit() {
+        return entity != null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RaycastHit[%s at %04.2f,%04.2f]", entity, x, y);
+    }
+}
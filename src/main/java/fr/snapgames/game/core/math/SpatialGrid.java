@@ -0,0 +1,497 @@
+package fr.snapgames.game.core.math;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import fr.snapgames.game.core.entity.GameEntity;
+
+/**
+ * The {@link SpatialGrid} is a uniform grid over the play area, indexing {@link GameEntity} by the cells their
+ * box overlaps, to answer the "which entities overlap this box" question by only looking at the few entities of
+ * the cells covered by the box.
+ * <p>
+ * The cells are stored in a dense array, each one holding the list of entities overlapping it. The entities out
+ * of the grid are kept in its border cells. As the entities move, {@link SpatialGrid#update(GameEntity)} moves
+ * them to their new cells, only if their box does not cover the same cells anymore.
+ * <p>
+ * A query fills a list provided by the caller, to be reused from one query to the other:
+ *
+ * <pre>
+ * grid.query(entity.box, found);
+ * for (GameEntity other : found) {
+ *     // ...
+ * }
+ * </pre>
+ * <p>
+ * The grid also answers the distance questions: the entities in a radius, the nearest one (searching the cells
+ * ring by ring around the point) and the first one hit by a ray (walking the cells crossed by the ray).
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class SpatialGrid {
+    // cell range indexes in the range arrays.
+    private static final int MIN_X = 0;
+    private static final int MIN_Y = 1;
+    private static final int MAX_X = 2;
+    private static final int MAX_Y = 3;
+    private static final Predicate<GameEntity> ANY = e -> true;
+
+    private final double cellSize;
+    private double width;
+    private double height;
+    private int columns;
+    private int rows;
+    private List<GameEntity>[] cells;
+    private final Map<GameEntity, int[]> ranges = new IdentityHashMap<>();
+
+    /**
+     * Create a new grid.
+     *
+     * @param width    the width of the area covered by the grid.
+     * @param height   the height of the area covered by the grid.
+     * @param cellSize the size of a grid cell (strictly positive).
+     * @throws IllegalArgumentException if the cell size is not strictly positive.
+     */
+    public SpatialGrid(double width, double height, double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException(String.format("the grid cell size must be positive: %s", cellSize));
+        }
+        this.cellSize = cellSize;
+        resize(width, height);
+    }
+
+    /**
+     * Change the covered area, and re-index all the entities.
+     *
+     * @param width  the new width of the area covered by the grid.
+     * @param height the new height of the area covered by the grid.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void resize(double width, double height) {
+        this.width = width;
+        this.height = height;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cells = new List[columns * rows];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new ArrayList<>();
+        }
+        for (Map.Entry<GameEntity, int[]> entry : ranges.entrySet()) {
+            computeRange(entry.getKey().box, entry.getValue());
+            addToCells(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * @return true if the grid covers exactly this area.
+     */
+    public boolean covers(double width, double height) {
+        return this.width == width && this.height == height;
+    }
+
+    /**
+     * Add an entity to the grid.
+     *
+     * @param e the {@link GameEntity} to be indexed.
+     */
+    public void insert(GameEntity e) {
+        if (ranges.containsKey(e)) {
+            update(e);
+            return;
+        }
+        int[] range = new int[4];
+        computeRange(e.box, range);
+        ranges.put(e, range);
+        addToCells(e, range);
+    }
+
+    /**
+     * Move an entity to the cells of its current box.
+     *
+     * @param e the {@link GameEntity} which may have moved.
+     */
+    public void update(GameEntity e) {
+        int[] range = ranges.get(e);
+        if (range == null) {
+            return;
+        }
+        int minX = cellX(e.box.getMinX());
+        int minY = cellY(e.box.getMinY());
+        int maxX = cellX(e.box.getMaxX());
+        int maxY = cellY(e.box.getMaxY());
+        if (minX != range[MIN_X] || minY != range[MIN_Y] || maxX != range[MAX_X] || maxY != range[MAX_Y]) {
+            removeFromCells(e, range);
+            range[MIN_X] = minX;
+            range[MIN_Y] = minY;
+            range[MAX_X] = maxX;
+            range[MAX_Y] = maxY;
+            addToCells(e, range);
+        }
+    }
+
+    /**
+     * Remove an entity from the grid.
+     *
+     * @param e the {@link GameEntity} to be removed.
+     */
+    public void remove(GameEntity e) {
+        int[] range = ranges.remove(e);
+        if (range != null) {
+            removeFromCells(e, range);
+        }
+    }
+
+    /**
+     * Remove all the entities.
+     */
+    public void clear() {
+        ranges.clear();
+        for (List<GameEntity> cell : cells) {
+            cell.clear();
+        }
+    }
+
+    /**
+     * Retrieve all the entities whose box intersects a box.
+     *
+     * @param box    the box to be tested.
+     * @param result the list to be filled with the found entities (cleared first).
+     * @return the result list.
+     */
+    public List<GameEntity> query(Rectangle2D box, List<GameEntity> result) {
+        result.clear();
+        collect(box, ANY, result);
+        return result;
+    }
+
+    /**
+     * Add to a list the entities whose box intersects a box and accepted by a filter.
+     *
+     * @param box    the box to be tested.
+     * @param filter the filter the entities must match.
+     * @param result the list the found entities are added to (not cleared).
+     */
+    public void collect(Rectangle2D box, Predicate<GameEntity> filter, List<GameEntity> result) {
+        int minX = cellX(box.getMinX());
+        int minY = cellY(box.getMinY());
+        int maxX = cellX(box.getMaxX());
+        int maxY = cellY(box.getMaxY());
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                List<GameEntity> cell = cells[y * columns + x];
+                for (int i = 0; i < cell.size(); i++) {
+                    GameEntity e = cell.get(i);
+                    if (isFirstCell(e, x, y, minX, minY) && e.box.intersects(box) && filter.test(e)) {
+                        result.add(e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Add to a list the entities whose box is at a distance of a point less or equal to a radius and accepted by a
+     * filter.
+     *
+     * @param px     the horizontal coordinate of the point.
+     * @param py     the vertical coordinate of the point.
+     * @param radius the radius around the point.
+     * @param filter the filter the entities must match.
+     * @param result the list the found entities are added to (not cleared).
+     */
+    public void collectInRadius(double px, double py, double radius, Predicate<GameEntity> filter,
+            List<GameEntity> result) {
+        double radiusSq = radius * radius;
+        int minX = cellX(px - radius);
+        int minY = cellY(py - radius);
+        int maxX = cellX(px + radius);
+        int maxY = cellY(py + radius);
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                List<GameEntity> cell = cells[y * columns + x];
+                for (int i = 0; i < cell.size(); i++) {
+                    GameEntity e = cell.get(i);
+                    if (isFirstCell(e, x, y, minX, minY) && distanceSq(e.box, px, py) <= radiusSq
+                            && filter.test(e)) {
+                        result.add(e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if a cell is the first one covered by both an entity and a query, so that an entity covering several
+     * cells of the query is found once, without searching the result list nor marking the entity (the grids are
+     * queried by several threads during the parallel integration).
+     *
+     * @param e    the {@link GameEntity} found in the cell.
+     * @param x    the column of the cell.
+     * @param y    the row of the cell.
+     * @param minX the first column covered by the query.
+     * @param minY the first row covered by the query.
+     * @return true if the entity is to be tested in this cell.
+     */
+    private boolean isFirstCell(GameEntity e, int x, int y, int minX, int minY) {
+        int[] range = ranges.get(e);
+        return x == Math.max(range[MIN_X], minX) && y == Math.max(range[MIN_Y], minY);
+    }
+
+    /**
+     * Find the entity whose box is the nearest to a point, visiting the cells ring by ring around the point until
+     * no closer entity can be found.
+     *
+     * @param px          the horizontal coordinate of the point.
+     * @param py          the vertical coordinate of the point.
+     * @param maxDistance the maximum distance of the entity box to the point.
+     * @param filter      the filter the entity must match.
+     * @return the nearest entity, or null if none is in range.
+     */
+    public GameEntity nearest(double px, double py, double maxDistance, Predicate<GameEntity> filter) {
+        return nearest(px, py, maxDistance, ANY, filter);
+    }
+
+    /**
+     * Find the entity whose box is the nearest to a point and matching two filters, given apart so that the
+     * caller does not have to combine them in a new {@link Predicate} on each search.
+     *
+     * @param px          the horizontal coordinate of the point.
+     * @param py          the vertical coordinate of the point.
+     * @param maxDistance the maximum distance of the entity box to the point.
+     * @param condition   the first filter the entity must match.
+     * @param filter      the second filter the entity must match.
+     * @return the nearest entity, or null if none is in range.
+     */
+    public GameEntity nearest(double px, double py, double maxDistance, Predicate<GameEntity> condition,
+            Predicate<GameEntity> filter) {
+        int cx = cellX(px);
+        int cy = cellY(py);
+        GameEntity best = null;
+        double bestSq = maxDistance * maxDistance;
+        int maxRing = Math.max(columns, rows);
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // the cells of this ring are at least (ring - 1) cells away from the point.
+            double bound = (ring - 1) * cellSize;
+            if (bound > 0 && bound * bound > bestSq) {
+                break;
+            }
+            for (int y = Math.max(cy - ring, 0); y <= Math.min(cy + ring, rows - 1); y++) {
+                boolean edgeRow = y == cy - ring || y == cy + ring;
+                int step = edgeRow || ring == 0 ? 1 : 2 * ring;
+                for (int x = cx - ring; x <= cx + ring; x += step) {
+                    if (x < 0 || x >= columns) {
+                        continue;
+                    }
+                    List<GameEntity> cell = cells[y * columns + x];
+                    for (int i = 0; i < cell.size(); i++) {
+                        GameEntity e = cell.get(i);
+                        double d = distanceSq(e.box, px, py);
+                        if ((best == null ? d <= bestSq : d < bestSq) && condition.test(e) && filter.test(e)) {
+                            best = e;
+                            bestSq = d;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Cast a ray through the grid, walking the cells it crosses in order (DDA), and keep the first entity hit
+     * closer than the current {@link RaycastHit#distance}. Only the parts of the entities inside the grid area can
+     * be hit.
+     *
+     * @param ox     the horizontal coordinate of the ray origin.
+     * @param oy     the vertical coordinate of the ray origin.
+     * @param dx     the horizontal coordinate of the unit ray direction.
+     * @param dy     the vertical coordinate of the unit ray direction.
+     * @param filter the filter the entity must match.
+     * @param hit    the hit to be updated, its distance being the maximum distance of the cast.
+     * @return true if a closer entity has been hit.
+     */
+    public boolean raycast(double ox, double oy, double dx, double dy, Predicate<GameEntity> filter,
+            RaycastHit hit) {
+        return raycast(ox, oy, dx, dy, ANY, filter, hit);
+    }
+
+    /**
+     * Cast a ray through the grid, keeping the first entity hit matching two filters, given apart so that the
+     * caller does not have to combine them in a new {@link Predicate} on each cast.
+     *
+     * @param ox        the horizontal coordinate of the ray origin.
+     * @param oy        the vertical coordinate of the ray origin.
+     * @param dx        the horizontal coordinate of the unit ray direction.
+     * @param dy        the vertical coordinate of the unit ray direction.
+     * @param condition the first filter the entity must match.
+     * @param filter    the second filter the entity must match.
+     * @param hit       the hit to be updated, its distance being the maximum distance of the cast.
+     * @return true if a closer entity has been hit.
+     */
+    public boolean raycast(double ox, double oy, double dx, double dy, Predicate<GameEntity> condition,
+            Predicate<GameEntity> filter, RaycastHit hit) {
+        // clip the ray to the grid area.
+        double tStart = Math.max(Math.max(enter(ox, dx, columns * cellSize), enter(oy, dy, rows * cellSize)), 0);
+        double tEnd = Math.min(Math.min(exit(ox, dx, columns * cellSize), exit(oy, dy, rows * cellSize)),
+                hit.distance);
+        if (tStart > tEnd) {
+            return false;
+        }
+        int x = cellX(ox + dx * tStart);
+        int y = cellY(oy + dy * tStart);
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        double tMaxX = dx > 0 ? ((x + 1) * cellSize - ox) / dx
+                : dx < 0 ? (x * cellSize - ox) / dx : Double.POSITIVE_INFINITY;
+        double tMaxY = dy > 0 ? ((y + 1) * cellSize - oy) / dy
+                : dy < 0 ? (y * cellSize - oy) / dy : Double.POSITIVE_INFINITY;
+        double tDeltaX = dx != 0 ? cellSize / Math.abs(dx) : Double.POSITIVE_INFINITY;
+        double tDeltaY = dy != 0 ? cellSize / Math.abs(dy) : Double.POSITIVE_INFINITY;
+        boolean found = false;
+        while (true) {
+            List<GameEntity> cell = cells[y * columns + x];
+            for (int i = 0; i < cell.size(); i++) {
+                GameEntity e = cell.get(i);
+                if (condition.test(e) && filter.test(e) && hitBox(e, ox, oy, dx, dy, hit)) {
+                    found = true;
+                }
+            }
+            double exit = Math.min(tMaxX, tMaxY);
+            // a hit in this cell is closer than anything in the next ones.
+            if (hit.distance <= exit || exit > tEnd) {
+                break;
+            }
+            if (tMaxX < tMaxY) {
+                x += stepX;
+                tMaxX += tDeltaX;
+            } else {
+                y += stepY;
+                tMaxY += tDeltaY;
+            }
+            if (x < 0 || x >= columns || y < 0 || y >= rows) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Intersect the ray with an entity box (slab method), and update the hit if the box is closer.
+     */
+    private static boolean hitBox(GameEntity e, double ox, double oy, double dx, double dy, RaycastHit hit) {
+        double tMin = 0;
+        double tMax = hit.distance;
+        double nx = 0;
+        double ny = 0;
+        Rectangle2D box = e.box;
+        if (dx == 0) {
+            if (ox < box.getMinX() || ox > box.getMaxX()) {
+                return false;
+            }
+        } else {
+            double t1 = (box.getMinX() - ox) / dx;
+            double t2 = (box.getMaxX() - ox) / dx;
+            if (Math.min(t1, t2) > tMin) {
+                tMin = Math.min(t1, t2);
+                nx = -Math.signum(dx);
+            }
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+        if (dy == 0) {
+            if (oy < box.getMinY() || oy > box.getMaxY()) {
+                return false;
+            }
+        } else {
+            double t1 = (box.getMinY() - oy) / dy;
+            double t2 = (box.getMaxY() - oy) / dy;
+            if (Math.min(t1, t2) > tMin) {
+                tMin = Math.min(t1, t2);
+                nx = 0;
+                ny = -Math.signum(dy);
+            }
+            tMax = Math.min(tMax, Math.max(t1, t2));
+        }
+        if (tMin > tMax || tMin >= hit.distance && hit.entity != null) {
+            return false;
+        }
+        hit.entity = e;
+        hit.distance = tMin;
+        hit.x = ox + dx * tMin;
+        hit.y = oy + dy * tMin;
+        hit.normalX = nx;
+        hit.normalY = ny;
+        return true;
+    }
+
+    /**
+     * @return the ray parameter entering the [0, size] range along one axis.
+     */
+    private static double enter(double origin, double direction, double size) {
+        if (direction == 0) {
+            return origin >= 0 && origin <= size ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        return Math.min(-origin / direction, (size - origin) / direction);
+    }
+
+    /**
+     * @return the ray parameter leaving the [0, size] range along one axis.
+     */
+    private static double exit(double origin, double direction, double size) {
+        if (direction == 0) {
+            return origin >= 0 && origin <= size ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        }
+        return Math.max(-origin / direction, (size - origin) / direction);
+    }
+
+    /**
+     * @return the square of the distance from a point to a box (0 if the point is in the box).
+     */
+    static double distanceSq(Rectangle2D box, double px, double py) {
+        double dx = Math.max(Math.max(box.getMinX() - px, 0), px - box.getMaxX());
+        double dy = Math.max(Math.max(box.getMinY() - py, 0), py - box.getMaxY());
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * @return the number of indexed entities.
+     */
+    public int size() {
+        return ranges.size();
+    }
+
+    private void computeRange(Rectangle2D box, int[] range) {
+        range[MIN_X] = cellX(box.getMinX());
+        range[MIN_Y] = cellY(box.getMinY());
+        range[MAX_X] = cellX(box.getMaxX());
+        range[MAX_Y] = cellY(box.getMaxY());
+    }
+
+    private void addToCells(GameEntity e, int[] range) {
+        for (int y = range[MIN_Y]; y <= range[MAX_Y]; y++) {
+            for (int x = range[MIN_X]; x <= range[MAX_X]; x++) {
+                cells[y * columns + x].add(e);
+            }
+        }
+    }
+
+    private void removeFromCells(GameEntity e, int[] range) {
+        for (int y = range[MIN_Y]; y <= range[MAX_Y]; y++) {
+            for (int x = range[MIN_X]; x <= range[MAX_X]; x++) {
+                cells[y * columns + x].remove(e);
+            }
+        }
+    }
+
+    private int cellX(double x) {
+        return Math.min(Math.max((int) Math.floor(x / cellSize), 0), columns - 1);
+    }
+
+    private int cellY(double y) {
+        return Math.min(Math.max((int) Math.floor(y / cellSize), 0), rows - 1);
+    }
+}
@@ -0,0 +1,43 @@
+package fr.snapgames.game.core.math;
+
+/**
+ * 64 bits FNV-1a hash of the physic state, computed by the {@link PhysicEngine} after each update in deterministic
+ * mode: two runs (e.g. a lockstep peer or the replay of a recorded game) having the same hash on the same update
+ * have the same state, without exchanging the state itself.
+ * <p>
+ * The values are hashed byte after byte, from the lowest one:
+ *
+ * <pre>
+ * long hash = StateHash.OFFSET;
+ * hash = StateHash.mix(hash, entity.id);
+ * hash = StateHash.mix(hash, FixedPoint.toFixed(entity.position.x));
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public final class StateHash {
+    /**
+     * The initial value of a hash.
+     */
+    public static final long OFFSET = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private StateHash() {
+    }
+
+    /**
+     * Add a value to a hash.
+     *
+     * @param hash  the current hash.
+     * @param value the value to be hashed.
+     * @return the new hash.
+     */
+    public static long mix(long hash, long value) {
+        for (int b = 0; b < 8; b++) {
+            hash ^= (value >>> (b * 8)) & 0xff;
+            hash *= PRIME;
+        }
+        return hash;
+    }
+}
@@ -4,6 +4,10 @@ import java.util.List;
 
 /**
  * Internal Class to manipulate simple Vector2D.
+ * <p>
+ * The <code>add</code>, <code>multiply</code>, ... operations return a new {@link Vector2D}; the
+ * <code>*Local</code> and <code>set</code> ones modify this instance and return it, to be used on the update path
+ * without any allocation.
  *
  * @author Frédéric Delorme
  * @since 0.0.3
@@ -26,6 +30,84 @@ public class Vector2D {
         this.y = y;
     }
 
+    /**
+     * Set the coordinates of this vector.
+     *
+     * @param x the new horizontal coordinate.
+     * @param y the new vertical coordinate.
+     * @return this updated vector.
+     */
+    public Vector2D set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Copy the coordinates of another vector into this one.
+     *
+     * @param v the vector to be copied.
+     * @return this updated vector.
+     */
+    public Vector2D set(Vector2D v) {
+        this.x = v.x;
+        this.y = v.y;
+        return this;
+    }
+
+    /**
+     * Add a vector to this one.
+     *
+     * @param v the vector to be added.
+     * @return this updated vector.
+     */
+    public Vector2D addLocal(Vector2D v) {
+        this.x += v.x;
+        this.y += v.y;
+        return this;
+    }
+
+    /**
+     * Add coordinates to this vector.
+     *
+     * @param dx the value to be added to x.
+     * @param dy the value to be added to y.
+     * @return this updated vector.
+     */
+    public Vector2D addLocal(double dx, double dy) {
+        this.x += dx;
+        this.y += dy;
+        return this;
+    }
+
+    /**
+     * Multiply this vector by a factor.
+     *
+     * @param f the multiplying factor.
+     * @return this updated vector.
+     */
+    public Vector2D scaleLocal(double f) {
+        this.x *= f;
+        this.y *= f;
+        return this;
+    }
+
+    /**
+     * Limit each coordinate of this vector to [-max,max].
+     *
+     * @param max the maximum absolute value of a coordinate.
+     * @return this updated vector.
+     */
+    public Vector2D clampLocal(double max) {
+        if (Math.abs(x) > max) {
+            x = Math.signum(x) * max;
+        }
+        if (Math.abs(y) > max) {
+            y = Math.signum(y) * max;
+        }
+        return this;
+    }
+
     public Vector2D add(Vector2D v) {
         return new Vector2D(x + v.x, y + v.y);
     }
@@ -75,8 +157,8 @@ public class Vector2D {
 
     public Vector2D addAll(List<Vector2D> forces) {
         Vector2D sum = new Vector2D();
-        for (Vector2D f : forces) {
-            sum = sum.add(f);
+        for (int i = 0; i < forces.size(); i++) {
+            sum.addLocal(forces.get(i));
         }
         return sum;
     }
@@ -86,12 +168,6 @@ public class Vector2D {
     }
 
     public Vector2D maximize(double maxAccel) {
-        if (Math.abs(x) > maxAccel) {
-            x = Math.signum(x) * maxAccel;
-        }
-        if (Math.abs(y) > maxAccel) {
-            y = Math.signum(y) * maxAccel;
-        }
-        return this;
+        return clampLocal(maxAccel);
     }
 }
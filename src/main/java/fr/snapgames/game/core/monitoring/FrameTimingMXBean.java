@@ -0,0 +1,23 @@
+package fr.snapgames.game.core.monitoring;
+
+/**
+ * JMX interface exposing the timing statistics of one phase of the game loop, computed by the
+ * {@link FrameTimingRecorder} on its last recorded samples.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public interface FrameTimingMXBean {
+
+    long getSampleCount();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+}
@@ -0,0 +1,231 @@
+package fr.snapgames.game.core.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+
+/**
+ * The {@link FrameTimingRecorder} records the duration of each {@link Phase} of the game loop into fixed size ring
+ * buffers, without any allocation on the recording side.
+ * <p>
+ * Each {@link Phase} must be recorded by only one thread ({@link Phase#RENDER} and {@link Phase#PRESENT} are
+ * recorded by the render thread in pipelined mode). Percentiles are computed on request, from a copy of the ring
+ * buffer, by the reader (e.g. a JMX client through the {@link FrameTimingMXBean} registered for each phase).
+ *
+ * <pre>
+ * recorder.start(Phase.PHYSIC);
+ * physicEngine.update(elapsed);
+ * recorder.stop(Phase.PHYSIC);
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class FrameTimingRecorder {
+
+    /**
+     * The measured phases of the game loop.
+     */
+    public enum Phase {
+        INPUT,
+        BEHAVIOR_INPUT,
+        PHYSIC,
+        SCENE_UPDATE,
+        RENDER,
+        PRESENT,
+        /**
+         * The full loop period, including the wait for the next frame.
+         */
+        FRAME
+    }
+
+    private static final String OBJECT_NAME_PATTERN = "fr.snapgames.game:type=FrameTiming,game=%s,phase=%s";
+
+    private final int capacity;
+    private final long[][] samples;
+    private final long[] counts;
+    private final long[] starts;
+    private final long[] scratch;
+    private String gameId;
+
+    /**
+     * Create a new recorder.
+     *
+     * @param capacity the number of samples kept for each phase (at least 1).
+     */
+    public FrameTimingRecorder(int capacity) {
+        if (capacity < 1) {
+            System.out.printf("INFO: FrameTimingRecorder:%d timing samples requested, 1 is kept%n", capacity);
+        }
+        this.capacity = Math.max(1, capacity);
+        int nbPhases = Phase.values().length;
+        this.samples = new long[nbPhases][this.capacity];
+        this.counts = new long[nbPhases];
+        this.starts = new long[nbPhases];
+        this.scratch = new long[this.capacity];
+    }
+
+    /**
+     * Start the measure of a phase.
+     *
+     * @param phase the {@link Phase} to be measured.
+     */
+    public void start(Phase phase) {
+        starts[phase.ordinal()] = System.nanoTime();
+    }
+
+    /**
+     * Stop the measure of a phase and record its duration.
+     *
+     * @param phase the {@link Phase} being measured.
+     */
+    public void stop(Phase phase) {
+        record(phase, System.nanoTime() - starts[phase.ordinal()]);
+    }
+
+    /**
+     * Record a duration for a phase.
+     *
+     * @param phase the {@link Phase} measured.
+     * @param nanos the duration in nanoseconds.
+     */
+    public void record(Phase phase, long nanos) {
+        int p = phase.ordinal();
+        samples[p][(int) (counts[p] % capacity)] = nanos;
+        counts[p]++;
+    }
+
+    public long getCount(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    /**
+     * Compute a percentile on the recorded samples of a phase.
+     *
+     * @param phase      the {@link Phase} to compute the percentile for.
+     * @param percentile the percentile, from 0.0 to 100.0 (100.0 gives the max value).
+     * @return the duration in nanoseconds (0 if no sample has been recorded).
+     */
+    public synchronized long getPercentile(Phase phase, double percentile) {
+        int p = phase.ordinal();
+        int size = (int) Math.min(counts[p], capacity);
+        if (size == 0) {
+            return 0;
+        }
+        System.arraycopy(samples[p], 0, scratch, 0, size);
+        Arrays.sort(scratch, 0, size);
+        int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+        return scratch[Math.max(0, Math.min(size - 1, index))];
+    }
+
+    /**
+     * Compute the mean on the recorded samples of a phase.
+     *
+     * @param phase the {@link Phase} to compute the mean for.
+     * @return the mean duration in nanoseconds (0 if no sample has been recorded).
+     */
+    public long getMean(Phase phase) {
+        int p = phase.ordinal();
+        int size = (int) Math.min(counts[p], capacity);
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += samples[p][i];
+        }
+        return size > 0 ? sum / size : 0;
+    }
+
+    /**
+     * Register one {@link FrameTimingMXBean} per {@link Phase} into the platform MBean server.
+     *
+     * @param gameId the identifier of the game instance, used in the MBeans names.
+     */
+    public void register(String gameId) {
+        this.gameId = gameId;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (Phase phase : Phase.values()) {
+            try {
+                server.registerMBean(new PhaseTiming(this, phase), objectName(phase));
+            } catch (InstanceAlreadyExistsException | MBeanRegistrationException | NotCompliantMBeanException |
+                     MalformedObjectNameException e) {
+                System.err.printf("ERROR: FrameTimingRecorder:Unable to register the %s timing MBean: %s%n",
+                        phase, e.getMessage());
+            }
+        }
+        System.out.printf("INFO: FrameTimingRecorder:Frame timings are published in JMX as %s%n",
+                String.format(OBJECT_NAME_PATTERN, gameId, "*"));
+    }
+
+    /**
+     * Remove all the {@link FrameTimingMXBean} registered by {@link FrameTimingRecorder#register(String)}.
+     */
+    public void unregister() {
+        if (gameId == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (Phase phase : Phase.values()) {
+            try {
+                server.unregisterMBean(objectName(phase));
+            } catch (InstanceNotFoundException | MBeanRegistrationException | MalformedObjectNameException e) {
+                System.err.printf("ERROR: FrameTimingRecorder:Unable to unregister the %s timing MBean: %s%n",
+                        phase, e.getMessage());
+            }
+        }
+        gameId = null;
+    }
+
+    private ObjectName objectName(Phase phase) throws MalformedObjectNameException {
+        return new ObjectName(String.format(OBJECT_NAME_PATTERN, gameId, phase.name().toLowerCase()));
+    }
+
+    /**
+     * The JMX view on one {@link Phase} of the recorder.
+     */
+    private static class PhaseTiming implements FrameTimingMXBean {
+        private static final double NANOS_PER_MILLI = 1_000_000.0;
+        private final FrameTimingRecorder recorder;
+        private final Phase phase;
+
+        PhaseTiming(FrameTimingRecorder recorder, Phase phase) {
+            this.recorder = recorder;
+            this.phase = phase;
+        }
+
+        @Override
+        public long getSampleCount() {
+            return recorder.getCount(phase);
+        }
+
+        @Override
+        public double getMeanMillis() {
+            return recorder.getMean(phase) / NANOS_PER_MILLI;
+        }
+
+        @Override
+        public double getP50Millis() {
+            return recorder.getPercentile(phase, 50.0) / NANOS_PER_MILLI;
+        }
+
+        @Override
+        public double getP95Millis() {
+            return recorder.getPercentile(phase, 95.0) / NANOS_PER_MILLI;
+        }
+
+        @Override
+        public double getP99Millis() {
+            return recorder.getPercentile(phase, 99.0) / NANOS_PER_MILLI;
+        }
+
+        @Override
+        public double getMaxMillis() {
+            return recorder.getPercentile(phase, 100.0) / NANOS_PER_MILLI;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package fr.snapgames.game.core.monitoring;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * The {@link StatsRegistry} stores the statistics displayed in the debug bar of the game window.
+ * <p>
+ * Each statistic is registered once, at initialization, and updated every frame through its handle
+ * ({@link Counter}, {@link Gauge} or {@link TextGauge}): numeric values are stored as primitive longs, and text
+ * values keep a reference to the provided {@link String}, so updating the statistics does not allocate anything.
+ * <p>
+ * The {@link StatsRegistry#format()} method writes the statistics, sorted on their key, into a reused char buffer
+ * on the format <code>[key1:value1|key2:value2]</code>, to be drawn with
+ * {@link java.awt.Graphics#drawChars(char[], int, int, int, int)}.
+ *
+ * <pre>
+ * StatsRegistry stats = new StatsRegistry();
+ * StatsRegistry.Counter frames = stats.counter("frm");
+ * StatsRegistry.TextGauge scene = stats.text("scn");
+ * // each frame
+ * frames.increment();
+ * scene.set(activeScene.getName());
+ * int length = stats.format();
+ * g.drawChars(stats.getChars(), 0, length, x, y);
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class StatsRegistry {
+
+    private static final char[] MIN_LONG = Long.toString(Long.MIN_VALUE).toCharArray();
+
+    // registration order; arrays are replaced (never modified) on registration to be shared by copies.
+    private String[] keys = new String[0];
+    private boolean[] textFlags = new boolean[0];
+    // index of the statistics sorted on their key.
+    private int[] order = new int[0];
+
+    private long[] values = new long[0];
+    private String[] texts = new String[0];
+
+    private char[] buffer = new char[128];
+
+    /**
+     * Base of the statistic handles: an index into the registry storage.
+     */
+    public abstract static class Stat {
+        protected final StatsRegistry registry;
+        protected final int index;
+
+        Stat(StatsRegistry registry, int index) {
+            this.registry = registry;
+            this.index = index;
+        }
+    }
+
+    /**
+     * A statistic counting events.
+     */
+    public static class Counter extends Stat {
+        Counter(StatsRegistry registry, int index) {
+            super(registry, index);
+        }
+
+        public void increment() {
+            registry.values[index]++;
+        }
+
+        public void add(long delta) {
+            registry.values[index] += delta;
+        }
+
+        public void reset() {
+            registry.values[index] = 0;
+        }
+
+        public long get() {
+            return registry.values[index];
+        }
+    }
+
+    /**
+     * A statistic providing the last measured value.
+     */
+    public static class Gauge extends Stat {
+        Gauge(StatsRegistry registry, int index) {
+            super(registry, index);
+        }
+
+        public void set(long value) {
+            registry.values[index] = value;
+        }
+
+        public long get() {
+            return registry.values[index];
+        }
+    }
+
+    /**
+     * A statistic providing a text value (e.g. the name of the active scene).
+     */
+    public static class TextGauge extends Stat {
+        TextGauge(StatsRegistry registry, int index) {
+            super(registry, index);
+        }
+
+        public void set(String value) {
+            registry.texts[index] = value;
+        }
+
+        public String get() {
+            return registry.texts[index];
+        }
+    }
+
+    /**
+     * Register a new {@link Counter}, or retrieve the already registered one.
+     *
+     * @param key the key of the statistic displayed in the debug bar.
+     * @return the {@link Counter} handle.
+     */
+    public Counter counter(String key) {
+        return new Counter(this, register(key, false));
+    }
+
+    /**
+     * Register a new {@link Gauge}, or retrieve the already registered one.
+     *
+     * @param key the key of the statistic displayed in the debug bar.
+     * @return the {@link Gauge} handle.
+     */
+    public Gauge gauge(String key) {
+        return new Gauge(this, register(key, false));
+    }
+
+    /**
+     * Register a new {@link TextGauge}, or retrieve the already registered one.
+     *
+     * @param key the key of the statistic displayed in the debug bar.
+     * @return the {@link TextGauge} handle.
+     */
+    public TextGauge text(String key) {
+        return new TextGauge(this, register(key, true));
+    }
+
+    private synchronized int register(String key, boolean text) {
+        int index = indexOf(key);
+        if (index >= 0) {
+            if (textFlags[index] != text) {
+                throw new IllegalArgumentException(
+                        String.format("The statistic '%s' is already registered with another type", key));
+            }
+            return index;
+        }
+        index = keys.length;
+        keys = Arrays.copyOf(keys, index + 1);
+        keys[index] = key;
+        textFlags = Arrays.copyOf(textFlags, index + 1);
+        textFlags[index] = text;
+        values = Arrays.copyOf(values, index + 1);
+        texts = Arrays.copyOf(texts, index + 1);
+        final String[] k = keys;
+        order = IntStream.range(0, k.length).boxed()
+                .sorted(Comparator.comparing(i -> k[i]))
+                .mapToInt(Integer::intValue).toArray();
+        return index;
+    }
+
+    private int indexOf(String key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieve the value of a numeric statistic from its key.
+     *
+     * @param key the key of the statistic.
+     * @return the value of the statistic, or 0 if it does not exist.
+     */
+    public long getLong(String key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : 0;
+    }
+
+    /**
+     * Retrieve the value of a text statistic from its key.
+     *
+     * @param key the key of the statistic.
+     * @return the value of the statistic, or null if it does not exist.
+     */
+    public String getText(String key) {
+        int index = indexOf(key);
+        return index >= 0 ? texts[index] : null;
+    }
+
+    /**
+     * Copy all the statistics into another registry (e.g. a {@link fr.snapgames.game.core.graphics.RenderSnapshot}
+     * one). The target only allocates when new statistics have been registered since the previous copy.
+     *
+     * @param target the {@link StatsRegistry} receiving the values.
+     */
+    public void copyTo(StatsRegistry target) {
+        if (target.keys != keys) {
+            target.keys = keys;
+            target.textFlags = textFlags;
+            target.order = order;
+            target.values = new long[values.length];
+            target.texts = new String[texts.length];
+        }
+        System.arraycopy(values, 0, target.values, 0, values.length);
+        System.arraycopy(texts, 0, target.texts, 0, texts.length);
+    }
+
+    /**
+     * Write all the statistics, sorted on their key, into the internal char buffer.
+     *
+     * @return the number of chars written, to be used with {@link StatsRegistry#getChars()}.
+     */
+    public int format() {
+        int pos = 0;
+        pos = append(pos, '[');
+        for (int n = 0; n < order.length; n++) {
+            int i = order[n];
+            if (n > 0) {
+                pos = append(pos, '|');
+            }
+            pos = append(pos, keys[i]);
+            pos = append(pos, ':');
+            if (textFlags[i]) {
+                pos = append(pos, texts[i] == null ? "-" : texts[i]);
+            } else {
+                pos = append(pos, values[i]);
+            }
+        }
+        return append(pos, ']');
+    }
+
+    /**
+     * @return the char buffer filled by the last call to {@link StatsRegistry#format()}.
+     */
+    public char[] getChars() {
+        return buffer;
+    }
+
+    private int append(int pos, char c) {
+        ensureCapacity(pos + 1);
+        buffer[pos] = c;
+        return pos + 1;
+    }
+
+    private int append(int pos, String s) {
+        ensureCapacity(pos + s.length());
+        s.getChars(0, s.length(), buffer, pos);
+        return pos + s.length();
+    }
+
+    private int append(int pos, long value) {
+        if (value == Long.MIN_VALUE) {
+            ensureCapacity(pos + MIN_LONG.length);
+            System.arraycopy(MIN_LONG, 0, buffer, pos, MIN_LONG.length);
+            return pos + MIN_LONG.length;
+        }
+        if (value < 0) {
+            pos = append(pos, '-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        ensureCapacity(pos + digits);
+        for (int d = pos + digits - 1; d >= pos; d--) {
+            buffer[d] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + digits;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(size, buffer.length * 2));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, format());
+    }
+}
@@ -0,0 +1,34 @@
+package fr.snapgames.game.core.monitoring.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event emitted for each loop of the {@link fr.snapgames.game.core.Game}.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+@Name("fr.snapgames.game.Frame")
+@Label("Game Frame")
+@Category({"Minimal", "Game Loop"})
+@Description("One loop of the game: input, update, draw and wait for the next frame")
+@StackTrace(false)
+public class FrameEvent extends Event {
+    @Label("Frame")
+    public long frame;
+
+    @Label("Updates")
+    @Description("Number of updates processed during this frame")
+    public int updates;
+
+    @Label("Entities")
+    public int entities;
+
+    @Label("Scene")
+    public String scene;
+}
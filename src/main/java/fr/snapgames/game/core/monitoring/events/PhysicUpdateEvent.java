@@ -0,0 +1,48 @@
+package fr.snapgames.game.core.monitoring.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event emitted for each {@link fr.snapgames.game.core.math.PhysicEngine} update.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+@Name("fr.snapgames.game.PhysicUpdate")
+@Label("Physic Update")
+@Category({"Minimal", "Physic"})
+@Description("One update of all the entities by the physic engine")
+@StackTrace(false)
+public class PhysicUpdateEvent extends Event {
+    @Label("Entities")
+    @Description("Number of entities known by the physic engine")
+    public int entities;
+
+    @Label("Updated Entities")
+    @Description("Number of active entities updated")
+    public int updated;
+
+    @Label("Sleeping Entities")
+    @Description("Number of active entities resting, not integrated")
+    public int sleeping;
+
+    @Label("Influencers")
+    public int influencers;
+
+    @Label("Collisions")
+    @Description("Number of contacts between collidable entities")
+    public int collisions;
+
+    @Label("LOD Skipped Bodies")
+    @Description("Number of awake bodies not integrated on this update, being far from the camera")
+    public int lodSkipped;
+
+    @Label("State Hash")
+    @Description("FNV-1a hash of the bodies state after the update (deterministic mode only)")
+    public long stateHash;
+}
@@ -0,0 +1,28 @@
+package fr.snapgames.game.core.monitoring.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event emitted for each frame drawn by the {@link fr.snapgames.game.core.graphics.Renderer}.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+@Name("fr.snapgames.game.Render")
+@Label("Render")
+@Category({"Minimal", "Render"})
+@Description("One frame drawn by the renderer into its buffer")
+@StackTrace(false)
+public class RenderEvent extends Event {
+    @Label("Drawn Entities")
+    public int drawn;
+
+    @Label("Culled Entities")
+    @Description("Number of active entities out of the camera viewport")
+    public int culled;
+}
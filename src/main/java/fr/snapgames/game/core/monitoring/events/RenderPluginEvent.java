@@ -0,0 +1,34 @@
+package fr.snapgames.game.core.monitoring.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event emitted for each frame and each
+ * {@link fr.snapgames.game.core.graphics.plugins.RendererPlugin} used to draw it.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+@Name("fr.snapgames.game.RenderPlugin")
+@Label("Render Plugin")
+@Category({"Minimal", "Render"})
+@Description("Entities drawn by one renderer plugin during a frame")
+@StackTrace(false)
+public class RenderPluginEvent extends Event {
+    @Label("Plugin")
+    public String plugin;
+
+    @Label("Drawn Entities")
+    public int drawn;
+
+    @Label("Draw Time")
+    @Description("Cumulated time spent in the plugin during the frame")
+    @Timespan(Timespan.NANOSECONDS)
+    public long drawTime;
+}
@@ -0,0 +1,32 @@
+package fr.snapgames.game.core.monitoring.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event emitted when the {@link fr.snapgames.game.core.resources.ResourceManager} is requested
+ * for a resource.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+@Name("fr.snapgames.game.ResourceLoad")
+@Label("Resource Load")
+@Category({"Minimal", "Resources"})
+@Description("Request for a resource, read from its file or pulled from the cache")
+public class ResourceLoadEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Bytes Loaded")
+    @DataAmount
+    public long bytes;
+
+    @Label("Cached")
+    @Description("The resource was pulled from the cache")
+    public boolean cached;
+}
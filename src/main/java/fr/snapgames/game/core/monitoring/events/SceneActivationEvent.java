@@ -0,0 +1,36 @@
+package fr.snapgames.game.core.monitoring.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event emitted when the {@link fr.snapgames.game.core.scene.SceneManager} activates a
+ * {@link fr.snapgames.game.core.scene.Scene}.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+@Name("fr.snapgames.game.SceneActivation")
+@Label("Scene Activation")
+@Category({"Minimal", "Scene"})
+@Description("Switch to a scene: dispose of the previous one, initialization, resources loading and creation")
+@StackTrace(false)
+public class SceneActivationEvent extends Event {
+    @Label("Scene")
+    public String scene;
+
+    @Label("Previous Scene")
+    public String previousScene;
+
+    @Label("Cached")
+    @Description("The scene instance was already existing")
+    public boolean cached;
+
+    @Label("Entities")
+    @Description("Number of entities in the scene after its creation")
+    public int entities;
+}
@@ -1,28 +1,38 @@
 package fr.snapgames.game.core.resources;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.InputStream;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.imageio.ImageIO;
 
+import fr.snapgames.game.core.monitoring.events.ResourceLoadEvent;
+
 /**
- * {@link ResourceManager} is a static library providing utility to load and cache resources like images.
+ * {@link ResourceManager} provides utility to load and cache resources like images.
  * <p>
  * Usage:
  * <p>
  * A very simple approach consists in caching the read object, ad pull them from cache when already existing.
  * <ol>
- *     <li>Load Image resource : {@link ResourceManager#loadImage(String)} :
+ *     <li>Load Image resource : {@link ResourceManager#getImage(String)} :
  * <pre>
- *     BufferedImage img = ResourceManager.loadImage("/path/to/my/image.png");
+ *     BufferedImage img = game.getContext().getResourceManager().getImage("/path/to/my/image.png");
  * </pre>
  * The image file <code>/path/to/my/image.png</code> is first loaded, added to cache and then returned as a
  * {@link BufferedImage} to caller.
  *
  *     </li>
  * </ol>
+ * <p>
+ * Each {@link fr.snapgames.game.core.GameContext} owns its {@link ResourceManager} instance, keeping track of the
+ * resources used by its game. The loaded resources are read-only assets: they are decoded only once, in a cache
+ * shared by all the instances of the JVM and safe to be accessed concurrently, also used by the static
+ * {@link ResourceManager#loadImage(String)}.
  *
  * <blockquote><em><strong>NOTE</strong> A Future enhancement will consists in adding a plugin architecture
  * to add new type file support to the {@link ResourceManager}.</em></blockquote>
@@ -32,41 +42,88 @@ import javax.imageio.ImageIO;
  **/
 public class ResourceManager {
 
-    private static Map<String, Object> resources = new HashMap<>();
+    private static final Map<String, Object> sharedResources = new ConcurrentHashMap<>();
+
+    private final Map<String, Object> resources = new ConcurrentHashMap<>();
+
+    /**
+     * Request for an image used by this game instance. If image already exists in cache, pull it fom.
+     *
+     * @param filePath the path to the image to be loaded.
+     * @return a BufferedImage instance corresponding to the loaded image. If file not found, return null.
+     */
+    public BufferedImage getImage(String filePath) {
+        BufferedImage img = loadImage(filePath);
+        if (Optional.ofNullable(img).isPresent()) {
+            resources.put(filePath, img);
+        }
+        return img;
+    }
+
+    /**
+     * @return the number of resources used by this game instance.
+     */
+    public int size() {
+        return resources.size();
+    }
 
     /**
-     * Request for an image. If image already exists in cache, pull it fom.
+     * Release the resources used by this game instance (the shared cache is kept for the other instances).
+     */
+    public void dispose() {
+        resources.clear();
+    }
+
+    /**
+     * Request for an image from the shared cache. If image already exists in cache, pull it fom.
      *
      * @param filePath the path to the image to be loaded.
      * @return a BufferedImage instance corresponding to the loaded image. If file not found, return null.
      */
     public static BufferedImage loadImage(String filePath) {
-        if (!addResource(filePath)) return null;
-        return (BufferedImage) resources.get(filePath);
+        ResourceLoadEvent event = new ResourceLoadEvent();
+        event.begin();
+        long[] bytes = {0};
+        Object resource = sharedResources.get(filePath);
+        event.cached = Optional.ofNullable(resource).isPresent();
+        if (!event.cached) {
+            resource = sharedResources.computeIfAbsent(filePath, p -> readResource(p, bytes));
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = filePath;
+            event.bytes = bytes[0];
+            event.commit();
+        }
+        return resource instanceof BufferedImage img ? img : null;
     }
 
     /**
-     * Add a resource to the internal cache.
+     * Read a resource from its file.
      *
-     * @param filePath the cache filename identifier
-     * @return a boolean status set to true if resource is added, else false.
+     * @param filePath the path to the resource file.
+     * @param bytes    the number of bytes read from the file, set on return.
+     * @return the loaded resource, or null if it can not be read.
      */
-    private static boolean addResource(String filePath) {
+    private static Object readResource(String filePath, long[] bytes) {
         switch (filePath.substring(filePath.lastIndexOf(".") + 1).toUpperCase()) {
             // read Image.
             case "PNG", "JPG" -> {
-                BufferedImage img = null;
-                if (!resources.containsKey(filePath)) {
-                    try {
-                        img = ImageIO.read(ResourceManager.class.getResourceAsStream(filePath));
-                        resources.put(filePath, img);
-                    } catch (IOException e) {
-                        System.err.printf("Game:Unable to read image %s: %s", filePath, e.getMessage());
-                        return false;
+                try (InputStream is = ResourceManager.class.getResourceAsStream(filePath)) {
+                    if (is == null) {
+                        throw new IOException("file not found");
                     }
+                    byte[] data = is.readAllBytes();
+                    bytes[0] = data.length;
+                    return ImageIO.read(new ByteArrayInputStream(data));
+                } catch (IOException e) {
+                    System.err.printf("Game:Unable to read image %s: %s", filePath, e.getMessage());
                 }
             }
+            default -> {
+                // unsupported resource type.
+            }
         }
-        return true;
+        return null;
     }
 }
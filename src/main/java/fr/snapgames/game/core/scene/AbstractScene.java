@@ -3,12 +3,13 @@ package fr.snapgames.game.core.scene;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import fr.snapgames.game.core.Game;
 import fr.snapgames.game.core.behaviors.Behavior;
 import fr.snapgames.game.core.config.OldConfiguration;
 import fr.snapgames.game.core.configuration.Configuration;
+import fr.snapgames.game.core.entity.EntityHierarchy;
 import fr.snapgames.game.core.entity.GameEntity;
 import fr.snapgames.game.core.graphics.Renderer;
 import fr.snapgames.game.core.io.InputHandler;
@@ -16,7 +17,8 @@ import fr.snapgames.game.core.math.PhysicEngine;
 
 public abstract class AbstractScene implements Scene {
 
-    Map<String, GameEntity> entities = new ConcurrentHashMap<>();
+    // sorted on the entity name, for the behaviors to be processed in the same order on every run.
+    Map<String, GameEntity> entities = new ConcurrentSkipListMap<>();
     protected Game game;
     protected String name;
 
@@ -51,10 +53,31 @@ public abstract class AbstractScene implements Scene {
     }
 
     public void add(GameEntity ge) {
+        assignId(ge);
+        if (ge.duration > 0) {
+            game.getScheduler().schedule(ge.duration, () -> ge.setActive(false));
+        }
         game.getRenderer().addEntity(ge);
         game.getPhysicEngine().addEntity(ge);
         this.entities.put(ge.name, ge);
-        ge.getChild().forEach(c -> this.entities.put(c.name, c));
+        EntityHierarchy h = ge.getHierarchy();
+        for (int i = 0; i < h.size(); i++) {
+            this.entities.put(h.get(i).name, h.get(i));
+        }
+        ge.updateTransforms();
+    }
+
+    private void assignId(GameEntity ge) {
+        if (ge.id == 0) {
+            ge.id = game.getContext().nextEntityId();
+        }
+        EntityHierarchy h = ge.getHierarchy();
+        for (int i = 0; i < h.size(); i++) {
+            GameEntity c = h.get(i);
+            if (c.id == 0) {
+                c.id = game.getContext().nextEntityId();
+            }
+        }
     }
 
     /**
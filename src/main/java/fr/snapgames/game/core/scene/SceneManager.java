@@ -7,6 +7,7 @@ import fr.snapgames.game.core.Game;
 import fr.snapgames.game.core.config.OldConfiguration;
 import fr.snapgames.game.core.configuration.ConfigAttribute;
 import fr.snapgames.game.core.configuration.Configuration;
+import fr.snapgames.game.core.monitoring.events.SceneActivationEvent;
 
 /**
  * <p>The {@link SceneManager} intends to activate one of multiple {@link Scene} instances according
@@ -123,11 +124,16 @@ public class SceneManager {
      */
     public void activate(String name) {
         if (availableScenes.containsKey(name)) {
+            SceneActivationEvent event = new SceneActivationEvent();
+            event.begin();
             Class<? extends Scene> sceneClass = availableScenes.get(name);
             if (Optional.ofNullable(activeScene).isPresent()) {
+                event.previousScene = activeScene.getName();
                 activeScene.dispose(game);
                 System.out.printf("INFO: SceneManager: the Scene %s has been disposed.%n", activeScene.getName());
             }
+            // the tasks of the previous scene must not run on the new one.
+            game.getScheduler().cancelAll();
             try {
                 if (!scenes.containsKey(name)) {
                     Scene s = sceneClass.getConstructor(Game.class, String.class).newInstance(game, name);
@@ -136,6 +142,7 @@ public class SceneManager {
 
                     System.out.printf("INFO: SceneManager: Scene %s instance has been instantiated.%n", sceneClass.getName());
                 } else {
+                    event.cached = true;
                     activeScene = scenes.get(name);
                     System.out.printf("INFO: SceneManager: the Scene %s has been pop from scene cache.%n", activeScene.getName());
                 }
@@ -143,6 +150,13 @@ public class SceneManager {
                 activeScene.loadResources(game);
                 activeScene.create(game);
 
+                event.end();
+                if (event.shouldCommit()) {
+                    event.scene = name;
+                    event.entities = activeScene.getEntities().size();
+                    event.commit();
+                }
+
             } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
                      NoSuchMethodException e) {
                 System.err.printf("ERROR: SceneManager:Unable to create Scene %s instance:%s%n", sceneClass.getName(), e.getMessage());
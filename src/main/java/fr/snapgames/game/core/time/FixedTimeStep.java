@@ -0,0 +1,68 @@
+package fr.snapgames.game.core.time;
+
+/**
+ * The {@link FixedTimeStep} converts the variable duration of the game loop frames into a number of fixed
+ * duration updates, through a time accumulator.
+ * <p>
+ * The elapsed time of each frame is added to the accumulator, and one update is processed for each whole
+ * {@link FixedTimeStep#step} it contains. The accumulator is limited to {@link FixedTimeStep#maxSteps} updates,
+ * to avoid the spiral of death after a long frame. The remaining time gives the interpolation factor between the
+ * last two updated states to be drawn.
+ *
+ * <pre>
+ * int updates = timeStep.advance(dt);
+ * for (int i = 0; i &lt; updates; i++) {
+ *     update(timeStep.getStep());
+ * }
+ * renderer.setInterpolation(timeStep.getInterpolation(pause));
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class FixedTimeStep {
+    private final double step;
+    private final int maxSteps;
+    private double accumulator = 0;
+
+    /**
+     * Create a new {@link FixedTimeStep}.
+     *
+     * @param step     the duration of one update, in milliseconds.
+     * @param maxSteps the maximum number of updates processed in one frame.
+     */
+    public FixedTimeStep(double step, int maxSteps) {
+        this.step = step;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Add the elapsed time of a frame to the accumulator, and consume the whole steps it contains.
+     *
+     * @param elapsed the elapsed time since the previous frame, in milliseconds.
+     * @return the number of updates to be processed in this frame.
+     */
+    public int advance(double elapsed) {
+        accumulator = Math.min(accumulator + elapsed, step * maxSteps);
+        int steps = 0;
+        while (accumulator >= step) {
+            accumulator -= step;
+            steps++;
+        }
+        return steps;
+    }
+
+    /**
+     * Retrieve the interpolation factor between the last two updated states.
+     *
+     * @param pause true if the updates are paused: the current state is then drawn as is.
+     * @return a value from 0.0 (previous state) to 1.0 (current state).
+     */
+    public double getInterpolation(boolean pause) {
+        return pause ? 1.0 : accumulator / step;
+    }
+
+    public double getStep() {
+        return step;
+    }
+}
@@ -0,0 +1,165 @@
+package fr.snapgames.game.core.time;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import fr.snapgames.game.core.monitoring.StatsRegistry;
+
+/**
+ * The {@link FramePacer} keeps the game loop on exact frame deadlines.
+ * <p>
+ * Each call to {@link FramePacer#sync()} waits until the next deadline: the thread is first parked with
+ * {@link LockSupport#parkNanos(long)} (no CPU used), and then spins for the last
+ * {@link FramePacer#spinNanos} nanoseconds to wake up right on time, as parking precision depends on the OS
+ * scheduler. The deadlines are computed from the previous deadline and not from the end of the frame, so the work
+ * done in the frame does not shift the rate.
+ * <p>
+ * The pacer measures its own precision:
+ * <ul>
+ *     <li><code>jitter</code> is the difference between the real frame duration and the target one,</li>
+ *     <li><code>oversleep</code> is the delay between the deadline and the real wake-up time.</li>
+ * </ul>
+ * Both are provided as an average and a peak value over the last second through
+ * {@link FramePacer#report()}, into the {@link StatsRegistry} given to {@link FramePacer#registerStats(StatsRegistry)}.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class FramePacer {
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private long periodNanos;
+    private final long spinNanos;
+
+    private long nextDeadline = 0;
+    private long lastFrame = 0;
+
+    // precision measures (average is an exponential moving average on 1/16 weight)
+    private long avgJitter = 0;
+    private long avgOversleep = 0;
+    private long peakJitter = 0;
+    private long peakOversleep = 0;
+    private long windowPeakJitter = 0;
+    private long windowPeakOversleep = 0;
+    private long windowStart = 0;
+
+    private StatsRegistry.Gauge jitterStat;
+    private StatsRegistry.Gauge peakJitterStat;
+    private StatsRegistry.Gauge oversleepStat;
+    private StatsRegistry.Gauge peakOversleepStat;
+
+    /**
+     * Create a new {@link FramePacer}.
+     *
+     * @param rate      the number of frames per second (0 or less for no pacing at all).
+     * @param spinNanos the duration, in nanoseconds, of the busy wait ending each frame wait.
+     */
+    public FramePacer(double rate, long spinNanos) {
+        this.spinNanos = spinNanos;
+        setRate(rate);
+    }
+
+    /**
+     * Change the frame rate.
+     *
+     * @param rate the number of frames per second (0 or less for no pacing at all).
+     */
+    public void setRate(double rate) {
+        this.periodNanos = rate > 0 ? (long) (1_000_000_000.0 / rate) : 0;
+        this.nextDeadline = 0;
+    }
+
+    /**
+     * Wait for the next frame deadline and compute the precision measures.
+     */
+    public void sync() {
+        if (periodNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (nextDeadline == 0) {
+            nextDeadline = now + periodNanos;
+            lastFrame = now;
+            windowStart = now;
+            return;
+        }
+        boolean waited = nextDeadline - now > 0;
+        if (waited) {
+            long remaining;
+            while ((remaining = nextDeadline - System.nanoTime()) > spinNanos
+                    && !Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(remaining - spinNanos);
+            }
+            while (nextDeadline - System.nanoTime() > 0) {
+                Thread.onSpinWait();
+            }
+            now = System.nanoTime();
+        }
+        measure(now, waited);
+
+        nextDeadline += periodNanos;
+        // far too late (long frame, debugger): restart from now instead of running a burst of frames.
+        if (now - nextDeadline > periodNanos) {
+            nextDeadline = now + periodNanos;
+        }
+    }
+
+    private void measure(long now, boolean waited) {
+        long jitter = Math.abs((now - lastFrame) - periodNanos);
+        long oversleep = waited ? now - nextDeadline : 0;
+        lastFrame = now;
+
+        avgJitter += (jitter - avgJitter) >> 4;
+        avgOversleep += (oversleep - avgOversleep) >> 4;
+        windowPeakJitter = Math.max(windowPeakJitter, jitter);
+        windowPeakOversleep = Math.max(windowPeakOversleep, oversleep);
+        if (now - windowStart > WINDOW_NANOS) {
+            peakJitter = windowPeakJitter;
+            peakOversleep = windowPeakOversleep;
+            windowPeakJitter = 0;
+            windowPeakOversleep = 0;
+            windowStart = now;
+        }
+    }
+
+    /**
+     * Register the precision measures into the statistics.
+     *
+     * @param stats the {@link StatsRegistry} to be completed.
+     */
+    public void registerStats(StatsRegistry stats) {
+        jitterStat = stats.gauge("jit");
+        peakJitterStat = stats.gauge("jitMax");
+        oversleepStat = stats.gauge("ovs");
+        peakOversleepStat = stats.gauge("ovsMax");
+    }
+
+    /**
+     * Update the precision measures, in microseconds, into the registered statistics.
+     */
+    public void report() {
+        if (Optional.ofNullable(jitterStat).isPresent()) {
+            jitterStat.set(avgJitter / 1000);
+            peakJitterStat.set(peakJitter / 1000);
+            oversleepStat.set(avgOversleep / 1000);
+            peakOversleepStat.set(peakOversleep / 1000);
+        }
+    }
+
+    public long getAverageJitterNanos() {
+        return avgJitter;
+    }
+
+    public long getPeakJitterNanos() {
+        return peakJitter;
+    }
+
+    public long getAverageOversleepNanos() {
+        return avgOversleep;
+    }
+
+    public long getPeakOversleepNanos() {
+        return peakOversleep;
+    }
+}
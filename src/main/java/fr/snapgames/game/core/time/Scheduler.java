@@ -0,0 +1,226 @@
+package fr.snapgames.game.core.time;
+
+import java.util.Optional;
+
+/**
+ * The {@link Scheduler} runs delayed and periodic tasks on the game time.
+ * <p>
+ * It is a hierarchical timing wheel: {@link Scheduler#LEVELS} wheels of {@link Scheduler#WHEEL_SIZE} slots, each
+ * slot of a level covering a whole turn of the level below. A task is inserted in the slot of its deadline, on the
+ * lowest level covering its delay, and moved down a level each time the wheel above reaches its slot. Scheduling
+ * and cancelling a task are O(1) operations (linked list insert/unlink), and advancing the time only visits the
+ * slots of the elapsed ticks, so thousands of waiting tasks cost nothing on frames where none of them fires.
+ * <p>
+ * The tick duration is one millisecond of game time: the time is advanced by the
+ * {@link fr.snapgames.game.core.Game} update, and stops when the game is paused. With 4 levels of 64 slots, the
+ * wheels cover 2^24 ms (more than 4 hours); longer delays are kept on the top level until they get in range.
+ *
+ * <pre>
+ * Scheduler.Timer t = game.getScheduler().schedule(2000, () -> door.setActive(false));
+ * Scheduler.Timer blink = game.getScheduler().scheduleRepeating(500, 500, () -> light.toggle());
+ * // ...
+ * blink.cancel();
+ * </pre>
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class Scheduler {
+    private static final int WHEEL_BITS = 6;
+    /**
+     * Number of slots of each wheel.
+     */
+    public static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    /**
+     * Number of wheels.
+     */
+    public static final int LEVELS = 4;
+    private static final long MAX_DELAY = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    /**
+     * A scheduled task, to be cancelled if needed.
+     */
+    public static class Timer {
+        private final Runnable task;
+        private final long period;
+        private long deadline;
+        private Scheduler scheduler;
+        private int level;
+        private int slot;
+        private Timer previous;
+        private Timer next;
+
+        private Timer(Runnable task, long period) {
+            this.task = task;
+            this.period = period;
+        }
+
+        /**
+         * Cancel this task: it will not run anymore.
+         */
+        public void cancel() {
+            if (Optional.ofNullable(scheduler).isPresent()) {
+                scheduler.remove(this);
+            }
+        }
+
+        /**
+         * @return true if this task is waiting to be run.
+         */
+        public boolean isActive() {
+            return Optional.ofNullable(scheduler).isPresent();
+        }
+
+        /**
+         * @return the game time, in milliseconds, at which this task will be run.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+
+    private final Timer[][] wheels = new Timer[LEVELS][WHEEL_SIZE];
+    private double time = 0;
+    private long currentTick = 0;
+    private int size = 0;
+
+    /**
+     * Schedule a task to be run once.
+     *
+     * @param delay the delay in milliseconds of game time before running the task.
+     * @param task  the task to be run.
+     * @return the {@link Timer} to cancel the task.
+     */
+    public Timer schedule(long delay, Runnable task) {
+        return scheduleRepeating(delay, 0, task);
+    }
+
+    /**
+     * Schedule a task to be run periodically.
+     *
+     * @param delay  the delay in milliseconds of game time before the first run of the task.
+     * @param period the delay in milliseconds between two runs (0 to run only once).
+     * @param task   the task to be run.
+     * @return the {@link Timer} to cancel the task.
+     */
+    public Timer scheduleRepeating(long delay, long period, Runnable task) {
+        Timer timer = new Timer(task, Math.max(period, 0));
+        timer.deadline = currentTick + Math.max(delay, 1);
+        insert(timer);
+        return timer;
+    }
+
+    /**
+     * Advance the game time and run all the tasks reaching their deadline.
+     *
+     * @param elapsed the elapsed game time in milliseconds.
+     */
+    public void advance(double elapsed) {
+        time += elapsed;
+        long target = (long) time;
+        if (size == 0) {
+            currentTick = Math.max(currentTick, target);
+            return;
+        }
+        while (currentTick < target) {
+            currentTick++;
+            processTick(currentTick);
+        }
+    }
+
+    private void processTick(long tick) {
+        // move down the tasks of the upper wheels reaching the current slot, from the top one.
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((tick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                cascade(level, (int) ((tick >> (WHEEL_BITS * level)) & WHEEL_MASK));
+            }
+        }
+        int slot = (int) (tick & WHEEL_MASK);
+        Timer timer;
+        while ((timer = wheels[0][slot]) != null) {
+            remove(timer);
+            if (timer.period > 0) {
+                timer.deadline = tick + timer.period;
+                insert(timer);
+            }
+            timer.task.run();
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        Timer timer = wheels[level][slot];
+        wheels[level][slot] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.previous = null;
+            timer.next = null;
+            size--;
+            insert(timer);
+            timer = next;
+        }
+    }
+
+    private void insert(Timer timer) {
+        // a 0 delay only comes from a cascade on the deadline tick: the task is run right after it.
+        long delay = Math.min(Math.max(timer.deadline - currentTick, 0), MAX_DELAY);
+        long target = currentTick + delay;
+        int level = 0;
+        while (delay >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((target >> (WHEEL_BITS * level)) & WHEEL_MASK);
+        timer.scheduler = this;
+        timer.level = level;
+        timer.slot = slot;
+        timer.previous = null;
+        timer.next = wheels[level][slot];
+        if (timer.next != null) {
+            timer.next.previous = timer;
+        }
+        wheels[level][slot] = timer;
+        size++;
+    }
+
+    private void remove(Timer timer) {
+        if (timer.previous != null) {
+            timer.previous.next = timer.next;
+        } else {
+            wheels[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+        timer.scheduler = null;
+        size--;
+    }
+
+    /**
+     * Cancel all the scheduled tasks.
+     */
+    public void cancelAll() {
+        for (Timer[] wheel : wheels) {
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                while (wheel[slot] != null) {
+                    remove(wheel[slot]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the current game time in milliseconds.
+     */
+    public long getTime() {
+        return currentTick;
+    }
+
+    /**
+     * @return the number of scheduled tasks.
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -25,7 +25,9 @@ public class StringUtils {
      *
      * @param stats the {@link Map} of value to be displayed
      * @return a concatenated {@link String} based on the {@link Map} {@link java.util.Map.Entry}.
+     * @deprecated allocates on each call, use {@link fr.snapgames.game.core.monitoring.StatsRegistry#format()}.
      */
+    @Deprecated
     public static String prepareStatsString(Map<String, Object> stats) {
         return "[" + stats.entrySet().stream().sorted(Map.Entry.comparingByKey()).map(entry ->
                         entry.getKey() + ":" + entry.getValue())
@@ -3,13 +3,19 @@ package fr.snapgames.game.demo101.behaviors;
 import fr.snapgames.game.core.Game;
 import fr.snapgames.game.core.behaviors.Behavior;
 import fr.snapgames.game.core.entity.GameEntity;
+import fr.snapgames.game.core.math.Collision;
 import fr.snapgames.game.core.math.Vector2D;
 
 import java.awt.*;
 import java.awt.geom.Ellipse2D;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 public class CoinBehavior implements Behavior<GameEntity> {
+    private static final Predicate<GameEntity> PLAYER = e -> "player".equals(e.name);
+    // the coin center, reused as the behavior is shared by all the coins.
+    private final Vector2D center = new Vector2D();
+
     @Override
     public void input(Game g, GameEntity e) {
 
@@ -48,24 +54,31 @@ public class CoinBehavior implements Behavior<GameEntity> {
     public void update(Game game, GameEntity entity, double dt) {
         // if player near this entity less than distance (attrDist),
         // a force (attrForce) is applied to entity to reach to player.
-        GameEntity p = game.getSceneManager().getActiveScene().getEntity("player");
+        double attrDist = (double) entity.attributes.get("attractionDistance");
+        double attrForce = (double) entity.attributes.get("attractionForce");
+        center.set(entity.position.x + entity.size.x * 0.5, entity.position.y + entity.size.y * 0.5);
+        GameEntity p = game.getPhysicEngine().nearest(center, attrDist, PLAYER);
         if (Optional.ofNullable(p).isPresent()) {
-            double attrDist = (double) entity.attributes.get("attractionDistance");
-            double attrForce = (double) entity.attributes.get("attractionForce");
-
-            if (p.position.add(entity.size).distance(entity.position.add(p.size.multiply(0.5))) < attrDist) {
-                Vector2D v = p.position.substract(entity.position);
-                entity.forces.add(v.normalize().multiply(attrForce));
-            }
-            if (p.position.add(entity.size.multiply(0.50)).distance(entity.position.add(p.size.multiply(0.50)))
-                    < entity.size.add(p.size)
-                    .multiply(0.25).length()) {
-                entity.setActive(false);
-                int score = (int) p.getAttribute("score", 0);
-                score += (int) p.getAttribute("value", 20);
-                p.setAttribute("score", score);
+            double vx = p.position.x - entity.position.x;
+            double vy = p.position.y - entity.position.y;
+            double length = Math.sqrt(vx * vx + vy * vy);
+            if (length > 0) {
+                entity.addForce("attraction", vx / length * attrForce, vy / length * attrForce);
             }
         }
     }
 
+    @Override
+    public void onCollision(Game game, GameEntity entity, Collision collision) {
+        // the player collects the coin: no bounce.
+        GameEntity p = collision.getOther(entity);
+        if ("player".equals(p.name)) {
+            entity.setActive(false);
+            int score = (int) p.getAttribute("score", 0);
+            score += (int) p.getAttribute("value", 20);
+            p.setAttribute("score", score);
+            collision.ignore();
+        }
+    }
+
 }
@@ -19,9 +19,7 @@ public class RainEffectBehavior implements Behavior {
 
     private World world;
     private Color color;
-    Vector2D wind = new Vector2D(
-            (Math.random() - 2.5) * 5,
-            (Math.random() * 25.0));
+    Vector2D wind;
 
     public RainEffectBehavior(World w, Color c, Vector2D wind) {
         world = w;
@@ -37,22 +35,29 @@ public class RainEffectBehavior implements Behavior {
     @Override
     public void update(Game game, Object entity, double dt) {
         ParticlesEntity pe = (ParticlesEntity) entity;
+        if (Optional.ofNullable(wind).isEmpty()) {
+            wind = new Vector2D(
+                    (game.getRandom().nextDouble() - 2.5) * 5,
+                    (game.getRandom().nextDouble() * 25.0));
+        }
 
+        double fallX = -world.getGravity().x;
+        double fallY = -world.getGravity().y;
         pe.getChild().forEach(p -> {
             if (Optional.ofNullable(world.getWind()).isPresent()) {
-                p.forces.add(world.getWind());
+                p.addForce("wind", world.getWind().x, world.getWind().y);
             }
 
-            p.forces.add(world.getGravity().negate());
+            p.addForce("fall", fallX, fallY);
 
             if (p.position.y - p.size.y > pe.size.y*.85 ||
                     p.position.x > pe.size.x ||
                     p.position.x < 0.0 ||
                     p.position.y < 0.0) {
                 p.setColor(color);
-                p.setPosition(new Vector2D(
-                        Math.random() * world.getPlayArea().width,
-                        Math.random() * world.getPlayArea().height*0.85));
+                p.setPosition(
+                        game.getRandom().nextDouble() * world.getPlayArea().width,
+                        game.getRandom().nextDouble() * world.getPlayArea().height*0.85);
             }
         });
     }
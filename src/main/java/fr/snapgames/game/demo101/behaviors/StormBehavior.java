@@ -3,44 +3,69 @@ package fr.snapgames.game.demo101.behaviors;
 import fr.snapgames.game.core.Game;
 import fr.snapgames.game.core.behaviors.Behavior;
 import fr.snapgames.game.core.entity.Light;
+import fr.snapgames.game.core.time.Scheduler;
 
 import java.awt.*;
+import java.util.Optional;
 
 /**
  * Simulate Storm lightning effect (WIP)
+ * <p>
+ * The storms and their lightning are planned on the game {@link Scheduler}: a storm starts after a random delay
+ * and produces a random number of lightning, each one lighting the entity during one frame.
  *
  * @author Frédéric Delorme
  * @since 0.0.3
  */
 public class StormBehavior implements Behavior<Light> {
+    private static final long MIN_STORM_DELAY = 111_000;
+    private static final long STORM_DELAY_RANGE = 555_000;
+
+    private final long startDelay;
     private final int maxNbLightning;
-    private final int maxDelayLightning;
-    private double delay;
-    private double lightning;
-    private int lightningInterval;
+    private final long maxDelayLightning;
+    private Scheduler.Timer lightningTimer;
+    private boolean started = false;
+    private int lightning;
 
-    public StormBehavior(double startDelay, int maxNbLightning, int maxDelayLightning) {
-        this.delay = startDelay;
+    /**
+     * Create a new storm.
+     *
+     * @param startDelay        delay in milliseconds of game time before the first storm.
+     * @param maxNbLightning    maximum number of lightning for a storm.
+     * @param maxDelayLightning delay in milliseconds of game time between two lightning.
+     */
+    public StormBehavior(long startDelay, int maxNbLightning, long maxDelayLightning) {
+        this.startDelay = startDelay;
         this.maxNbLightning = maxNbLightning;
         this.maxDelayLightning = maxDelayLightning;
     }
 
     @Override
     public void update(Game game, Light entity, double dt) {
-        if (delay <= 0) {
-            delay = Math.random() * 10000 + 2000;
-            lightning = Math.random() * maxNbLightning;
-        } else {
-            delay -= dt;
+        if (!started) {
+            started = true;
+            game.getScheduler().schedule(startDelay, () -> startStorm(game, entity));
         }
-        if (lightning >= 0 && lightningInterval > maxDelayLightning) {
-            lightning -= 1;
-            lightningInterval = 0;
-            entity.setDeltaIntensity((float) Math.random());
-        } else {
-            entity.setDeltaIntensity(1.0f);
-            lightningInterval += dt;
+    }
+
+    private void startStorm(Game game, Light entity) {
+        Scheduler scheduler = game.getScheduler();
+        // plan the next storm.
+        scheduler.schedule(MIN_STORM_DELAY + (long) (game.getRandom().nextDouble() * STORM_DELAY_RANGE),
+                () -> startStorm(game, entity));
+        lightning = 1 + game.getRandom().nextInt(Math.max(maxNbLightning, 1));
+        if (Optional.ofNullable(lightningTimer).isPresent()) {
+            lightningTimer.cancel();
         }
+        lightningTimer = scheduler.scheduleRepeating(maxDelayLightning, maxDelayLightning, () -> {
+            entity.setDeltaIntensity(game.getRandom().nextFloat());
+            // switch off at the next update.
+            scheduler.schedule(1, () -> entity.setDeltaIntensity(1.0f));
+            if (--lightning <= 0) {
+                lightningTimer.cancel();
+            }
+        });
     }
 
     @Override
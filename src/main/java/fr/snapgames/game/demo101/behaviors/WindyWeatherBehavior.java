@@ -4,13 +4,14 @@ import java.awt.Graphics2D;
 
 import fr.snapgames.game.core.Game;
 import fr.snapgames.game.core.behaviors.Behavior;
-import fr.snapgames.game.core.math.PhysicEngine;
 import fr.snapgames.game.core.math.Vector2D;
 import fr.snapgames.game.core.math.World;
 import fr.snapgames.game.core.scene.Scene;
 
 /**
  * crete a random windy on the current action world object.
+ * <p>
+ * The wind changes are planned on the game {@link fr.snapgames.game.core.time.Scheduler}.
  *
  * @author Frédéric Delorme
  * @since 0.0.3
@@ -20,9 +21,17 @@ public class WindyWeatherBehavior implements Behavior<Scene> {
     double maxAngleDirection;
     double maxWindSpeed = 0.0;
     double maxChangeDelay = 20.0 * 1000.0;
-    double internalTime = 0.0;
+    boolean started = false;
     Vector2D windForceTarget = new Vector2D();
 
+    /**
+     * Create a new random wind.
+     *
+     * @param maxWindSpeed      the maximum speed of the wind.
+     * @param minAngleDirection the minimum angle of the wind direction.
+     * @param maxAngleDirection the maximum angle of the wind direction.
+     * @param maxChangeDelay    the delay in milliseconds of game time between two wind changes.
+     */
     public WindyWeatherBehavior(double maxWindSpeed, double minAngleDirection, double maxAngleDirection, double maxChangeDelay) {
         this.maxWindSpeed = maxWindSpeed;
         this.maxChangeDelay = maxChangeDelay;
@@ -32,16 +41,18 @@ public class WindyWeatherBehavior implements Behavior<Scene> {
 
     @Override
     public void update(Game game, Scene scene, double dt) {
-        PhysicEngine pe = game.getPhysicEngine();
-        World w = pe.getWorld();
-        internalTime += dt;
-        if (internalTime > maxChangeDelay * 50.0) {
-            internalTime = 0.0;
-            windForceTarget = new Vector2D((-(maxAngleDirection - minAngleDirection)
-                    + Math.cos(Math.random() * (maxAngleDirection - minAngleDirection) * 2.0))
-                    * Math.random() * maxWindSpeed, 0.0);
+        if (!started) {
+            started = true;
+            World w = game.getPhysicEngine().getWorld();
+            w.setWind(windForceTarget);
+            game.getScheduler().scheduleRepeating((long) maxChangeDelay, (long) maxChangeDelay, () -> {
+                // StrictMath gives the same wind on any machine, for the deterministic physic mode.
+                windForceTarget = new Vector2D((-(maxAngleDirection - minAngleDirection)
+                        + StrictMath.cos(game.getRandom().nextDouble() * (maxAngleDirection - minAngleDirection) * 2.0))
+                        * game.getRandom().nextDouble() * maxWindSpeed, 0.0);
+                w.setWind(windForceTarget);
+            });
         }
-        w.setWind(windForceTarget);
     }
 
     @Override
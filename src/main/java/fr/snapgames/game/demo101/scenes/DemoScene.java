@@ -47,9 +47,10 @@ public class DemoScene extends AbstractScene {
 
     @Override
     public void loadResources(Game g) {
-        backgroundImg = ResourceManager.loadImage("/images/backgrounds/forest.jpg");
-        playerImg = ResourceManager.loadImage("/images/sprites01.png").getSubimage(0, 0, 32, 32);
-        coinImg = ResourceManager.loadImage("/images/tiles01.png").getSubimage(8 * 16, 6 * 16, 16, 16);
+        ResourceManager resources = g.getContext().getResourceManager();
+        backgroundImg = resources.getImage("/images/backgrounds/forest.jpg");
+        playerImg = resources.getImage("/images/sprites01.png").getSubimage(0, 0, 32, 32);
+        coinImg = resources.getImage("/images/tiles01.png").getSubimage(8 * 16, 6 * 16, 16, 16);
 
     }
 
@@ -125,6 +126,7 @@ public class DemoScene extends AbstractScene {
                 .setAttribute("maxAcceleration", 8.0)
                 .setAttribute("speedStep", 0.4)
                 .setMass(8.0)
+                .setCollidable(true)
                 .setLayer(10)
                 .setPriority(1)
                 .addBehavior(new Behavior<GameEntity>() {
@@ -135,18 +137,18 @@ public class DemoScene extends AbstractScene {
                         accel = inputHandler.isCtrlPressed() ? accel * 1.5 : accel;
 
                         if (inputHandler.getKey(KeyEvent.VK_UP)) {
-                            entity.forces.add(new Vector2D(0, -accel * 3.0));
+                            entity.addForce("input", 0, -accel * 3.0);
                         }
                         if (inputHandler.getKey(KeyEvent.VK_DOWN)) {
-                            entity.forces.add(new Vector2D(0, accel));
+                            entity.addForce("input", 0, accel);
                         }
                         if (inputHandler.getKey(KeyEvent.VK_RIGHT)) {
                             entity.setDirection(1);
-                            entity.forces.add(new Vector2D(accel, 0));
+                            entity.addForce("input", accel, 0);
                         }
                         if (inputHandler.getKey(KeyEvent.VK_LEFT)) {
                             entity.setDirection(-1);
-                            entity.forces.add(new Vector2D(-accel, 0));
+                            entity.addForce("input", -accel, 0);
                         }
                     }
                 });
@@ -165,7 +167,7 @@ public class DemoScene extends AbstractScene {
                 .setLayer(2)
                 .setPriority(1)
                 .addBehavior(new LightBehavior())
-                .addBehavior(new StormBehavior(500, 4, 50));
+                .addBehavior(new StormBehavior(28_000, 4, 2_800));
         add(ambiantLight);
 
         // add some spotlights
@@ -192,7 +194,7 @@ public class DemoScene extends AbstractScene {
         renderer.setCurrentCamera(cam);
 
         // add randomly wind.
-        add(new WindyWeatherBehavior(20.0, 0.0, 0.3, 5.0));
+        add(new WindyWeatherBehavior(20.0, 0.0, 0.3, 6_250.0));
         add(new PauseBehavior(pauseText));
     }
 
@@ -202,7 +204,7 @@ public class DemoScene extends AbstractScene {
             GameEntity star = new GameEntity(prefixEntityName + "_" + i)
                     .setType(EntityType.CIRCLE)
                     .setPhysicType(PhysicType.STATIC)
-                    .setPosition(RandomUtils.ramdomVector(starArea))
+                    .setPosition(RandomUtils.ramdomVector(game.getRandom(), starArea))
                     .setSize(new Vector2D(1.0, 1.0))
                     .setColor(Color.WHITE)
                     .setLayer(5)
@@ -215,13 +217,13 @@ public class DemoScene extends AbstractScene {
     private void createSpotLights(String prefixEntityName, int nbLights, World world) {
         for (int i = 0; i < nbLights; i++) {
             Light l = (Light) new Light(prefixEntityName + "_" + i,
-                    world.getPlayArea().width * Math.random(),
-                    200.0 + (world.getPlayArea().height - 200) * Math.random(),
-                    200.0 * Math.random(),
+                    world.getPlayArea().width * game.getRandom().nextDouble(),
+                    200.0 + (world.getPlayArea().height - 200) * game.getRandom().nextDouble(),
+                    200.0 * game.getRandom().nextDouble(),
                     1.0f)
                     .setLayer(2)
                     .setPriority(1 + i)
-                    .setColor(RandomUtils.randomColorMinMax(
+                    .setColor(RandomUtils.randomColorMinMax(game.getRandom(),
                             0.6f, 1.0f,
                             0.6f, 1.0f,
                             0.6f, 1.0f,
@@ -233,7 +235,7 @@ public class DemoScene extends AbstractScene {
 
     private void createRain(String entityName, int nbParticles, World world) {
         ParticlesEntity pes = (ParticlesEntity) new ParticlesEntity(entityName)
-                .setPosition(new Vector2D(Math.random() * world.getPlayArea().getWidth(), 0.0))
+                .setPosition(new Vector2D(game.getRandom().nextDouble() * world.getPlayArea().getWidth(), 0.0))
                 .setSize(new Vector2D(
                         world.getPlayArea().getWidth(),
                         world.getPlayArea().getHeight()))
@@ -247,14 +249,14 @@ public class DemoScene extends AbstractScene {
                     .setSize(new Vector2D(1.0, 1.0))
                     .setPosition(
                             new Vector2D(
-                                    world.getPlayArea().getWidth() * Math.random(),
-                                    world.getPlayArea().getHeight() * Math.random()))
+                                    world.getPlayArea().getWidth() * game.getRandom().nextDouble(),
+                                    world.getPlayArea().getHeight() * game.getRandom().nextDouble()))
                     .setColor(Color.CYAN)
                     .setLayer(1)
                     .setPriority(i)
                     .setMass(0.1)
                     .setMaterial(Material.AIR);
-            pes.getChild().add(p);
+            pes.addChild(p);
         }
         add(pes);
     }
@@ -267,19 +269,21 @@ public class DemoScene extends AbstractScene {
      */
     public void createCoins(String namePattern, int nb, World world, Behavior<?> b) {
         for (int i = 0; i < nb; i++) {
-            GameEntity e = new GameEntity(namePattern + GameEntity.index)
-                    .setPosition(new Vector2D(Math.random() * world.getPlayArea().getWidth(),
-                            Math.random() * world.getPlayArea().getHeight()))
+            GameEntity e = new GameEntity(namePattern + game.getContext().nextEntityId())
+                    .setPosition(new Vector2D(game.getRandom().nextDouble() * world.getPlayArea().getWidth(),
+                            game.getRandom().nextDouble() * world.getPlayArea().getHeight()))
                     .setImage(coinImg)
                     .setMaterial(Material.SUPER_BALL)
                     .setMass(25.0)
+                    .setCollidable(true)
+                    .setFast(true)
                     .setLayer(4)
                     .setPriority(4 + i)
                     .setAttribute("maxVelocity", 4.0)
                     .setAttribute("maxAcceleration", 5.0)
                     .setAttribute("attractionDistance", 80.0)
                     .setAttribute("attractionForce", 3.0)
-                    .setAttribute("value", (int) (Math.random() * 50.0) - 15)
+                    .setAttribute("value", (int) (game.getRandom().nextDouble() * 50.0) - 15)
                     .addBehavior(b);
 
             add(e);
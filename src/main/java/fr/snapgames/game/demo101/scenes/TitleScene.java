@@ -37,7 +37,7 @@ public class TitleScene extends AbstractScene {
 
     @Override
     public void loadResources(Game g) {
-        backgroundImg = ResourceManager.loadImage("/images/backgrounds/ruins.png");
+        backgroundImg = g.getContext().getResourceManager().getImage("/images/backgrounds/ruins.png");
     }
 
     @Override
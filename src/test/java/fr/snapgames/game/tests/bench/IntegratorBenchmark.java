@@ -0,0 +1,101 @@
+package fr.snapgames.game.tests.bench;
+
+import fr.snapgames.game.core.entity.GameEntity;
+import fr.snapgames.game.core.math.BodyStore;
+import fr.snapgames.game.core.math.Integrator;
+
+/**
+ * Compare the {@link Integrator}s of the {@link fr.snapgames.game.core.math.PhysicEngine} on accuracy against cost.
+ * <p>
+ * Accuracy: a body starting at rest under a constant acceleration and a speed damping has an exact trajectory;
+ * the relative position error at the end of the simulation is measured for several update durations (the
+ * physic time of an update being the update duration multiplied by <code>game.physic.time.factor</code>) and
+ * sub-step counts.
+ * <p>
+ * Cost: the mean time to integrate one body during one update, on a {@link BodyStore} of
+ * {@link IntegratorBenchmark#BODIES} bodies.
+ * <p>
+ * Run it with: <code>java -cp target/classes:target/test-classes fr.snapgames.game.tests.bench.IntegratorBenchmark</code>
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class IntegratorBenchmark {
+    private static final int BODIES = 100_000;
+    private static final double ACCELERATION = 5.0;
+    // damping rate by unit of time: the roughness of a step h is exp(-DAMPING.h).
+    private static final double DAMPING = 0.2;
+    private static final double DURATION = 60.0;
+    private static final double[] STEPS = {0.3, 1.2, 4.8};
+    private static final int[] SUB_STEPS = {1, 2, 4, 8};
+
+    public static void main(String[] args) {
+        System.out.printf("%-20s %6s %9s %14s %14s%n", "integrator", "steps", "step", "error", "ns/body");
+        for (Integrator integrator : Integrator.values()) {
+            for (int subSteps : SUB_STEPS) {
+                double cost = measureCost(integrator, subSteps);
+                for (double step : STEPS) {
+                    System.out.printf("%-20s %6d %9.2f %14.6e %14.2f%n",
+                            integrator, subSteps, step, measureError(integrator, subSteps, step), cost);
+                }
+            }
+        }
+    }
+
+    private static BodyStore createStore(int size, double step) {
+        BodyStore store = new BodyStore();
+        GameEntity entity = new GameEntity("bench");
+        for (int i = 0; i < size; i++) {
+            store.add(entity, true);
+        }
+        prepare(store, step);
+        return store;
+    }
+
+    /**
+     * Set the forces and material of all the bodies, as the {@link fr.snapgames.game.core.math.PhysicEngine} does
+     * before each update.
+     */
+    private static void prepare(BodyStore store, double step) {
+        for (int i = 0; i < store.size(); i++) {
+            store.fx[i] = ACCELERATION;
+            store.fy[i] = 0.0;
+            store.mass[i] = 1.0;
+            store.density[i] = 1.0;
+            store.roughness[i] = Math.exp(-DAMPING * step);
+            store.maxAcceleration[i] = Double.MAX_VALUE;
+            store.maxVelocity[i] = Double.MAX_VALUE;
+        }
+    }
+
+    private static double measureError(Integrator integrator, int subSteps, double step) {
+        BodyStore store = createStore(1, step);
+        int updates = (int) Math.round(DURATION / step);
+        for (int u = 0; u < updates; u++) {
+            prepare(store, step);
+            store.integrate(0, 1, step, integrator, subSteps);
+        }
+        double t = updates * step;
+        double terminal = ACCELERATION / DAMPING;
+        double exact = terminal * t - terminal * (1.0 - Math.exp(-DAMPING * t)) / DAMPING;
+        return Math.abs(store.x[0] - exact) / exact;
+    }
+
+    private static double measureCost(Integrator integrator, int subSteps) {
+        BodyStore store = createStore(BODIES, STEPS[0]);
+        // warm-up, then measure.
+        for (int u = 0; u < 200; u++) {
+            prepare(store, STEPS[0]);
+            store.integrate(0, BODIES, STEPS[0], integrator, subSteps);
+        }
+        int updates = 500;
+        long elapsed = 0;
+        for (int u = 0; u < updates; u++) {
+            prepare(store, STEPS[0]);
+            long start = System.nanoTime();
+            store.integrate(0, BODIES, STEPS[0], integrator, subSteps);
+            elapsed += System.nanoTime() - start;
+        }
+        return (double) elapsed / ((double) updates * BODIES);
+    }
+}
@@ -0,0 +1,81 @@
+package fr.snapgames.game.tests.features;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import fr.snapgames.game.core.entity.GameEntity;
+import fr.snapgames.game.core.math.BodyStore;
+import fr.snapgames.game.core.math.Integrator;
+import io.cucumber.java8.En;
+
+public class BodyStoreStepdefs implements En {
+    private static final double EPSILON = 0.000001;
+    // the initial state of the body, each integration starting from it.
+    private double speedX;
+    private double speedY;
+    private double forceX;
+    private double forceY;
+    private double roughness;
+    private BodyStore store;
+
+    public BodyStoreStepdefs() {
+        Given("a body store with a body moving at {double},{double} under a force of {double},{double} with a roughness of {double}",
+                (Double vx, Double vy, Double fx, Double fy, Double r) -> {
+                    speedX = vx;
+                    speedY = vy;
+                    forceX = fx;
+                    forceY = fy;
+                    roughness = r;
+                });
+        When("the body store integrates {int} updates of {double} with {int} sub-steps using {string}",
+                (Integer nbUpdates, Double elapsed, Integer subSteps, String integrator) -> {
+                    integrate(Integrator.valueOf(integrator), nbUpdates, elapsed, subSteps);
+                });
+        Then("the body store body speed is {double},{double}", (Double vx, Double vy) -> {
+            assertEquals(vx, store.vx[0], EPSILON);
+            assertEquals(vy, store.vy[0], EPSILON);
+        });
+        Then("the {string} position error after {int} updates of {double} is lower than the {string} one",
+                (String integrator, Integer nbUpdates, Double elapsed, String reference) -> {
+                    double exact = exactPosition(nbUpdates * elapsed, elapsed);
+                    integrate(Integrator.valueOf(reference), nbUpdates, elapsed, 1);
+                    double referenceError = Math.abs(store.x[0] - exact);
+                    integrate(Integrator.valueOf(integrator), nbUpdates, elapsed, 1);
+                    double error = Math.abs(store.x[0] - exact);
+                    assertTrue(error < referenceError,
+                            String.format("%s error %f is not lower than %s error %f",
+                                    integrator, error, reference, referenceError));
+                });
+    }
+
+    /**
+     * Integrate the body from its initial state, as the PhysicEngine does: the roughness being the damping of
+     * one whole update, set back before each update.
+     */
+    private void integrate(Integrator integrator, int nbUpdates, double elapsed, int subSteps) {
+        store = new BodyStore();
+        store.add(new GameEntity("body"), true);
+        store.vx[0] = speedX;
+        store.vy[0] = speedY;
+        store.fx[0] = forceX;
+        store.fy[0] = forceY;
+        store.mass[0] = 1.0;
+        store.density[0] = 1.0;
+        store.maxAcceleration[0] = Double.MAX_VALUE;
+        store.maxVelocity[0] = Double.MAX_VALUE;
+        for (int i = 0; i < nbUpdates; i++) {
+            store.roughness[0] = roughness;
+            store.integrate(0, 1, elapsed, integrator, subSteps);
+        }
+    }
+
+    /**
+     * The exact horizontal position at the time t of the body damped continuously by the roughness on each update
+     * of the elapsed time: dv/dt = a - k.v, with k = -ln(roughness) / elapsed.
+     */
+    private double exactPosition(double t, double elapsed) {
+        double k = -Math.log(roughness) / elapsed;
+        double limit = forceX / k;
+        return limit * t + (speedX - limit) * (1 - Math.exp(-k * t)) / k;
+    }
+}
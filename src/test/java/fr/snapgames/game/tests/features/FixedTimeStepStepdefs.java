@@ -0,0 +1,37 @@
+package fr.snapgames.game.tests.features;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import fr.snapgames.game.core.time.FixedTimeStep;
+import io.cucumber.java8.En;
+
+/**
+ * Step tests for {@link FixedTimeStep}.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class FixedTimeStepStepdefs implements En {
+    private static final double EPSILON = 0.000001;
+    private FixedTimeStep timeStep;
+    // the number of updates of the last frame.
+    private int updates;
+
+    public FixedTimeStepStepdefs() {
+        Given("a fixed time step of {double} ms with at most {int} updates per frame", (Double step, Integer max) -> {
+            timeStep = new FixedTimeStep(step, max);
+        });
+        When("a frame of {double} ms elapses", (Double elapsed) -> {
+            updates = timeStep.advance(elapsed);
+        });
+        Then("{int} updates are processed in the frame", (Integer expected) -> {
+            assertEquals(expected, updates);
+        });
+        Then("the frame is drawn with an interpolation of {double}", (Double expected) -> {
+            assertEquals(expected, timeStep.getInterpolation(false), EPSILON);
+        });
+        Then("the frame is drawn with an interpolation of {double} during a pause", (Double expected) -> {
+            assertEquals(expected, timeStep.getInterpolation(true), EPSILON);
+        });
+    }
+}
@@ -4,14 +4,22 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import fr.snapgames.game.core.Game;
+import fr.snapgames.game.core.entity.EntityHierarchy;
 import fr.snapgames.game.core.entity.GameEntity;
 import fr.snapgames.game.core.math.Vector2D;
 import io.cucumber.java8.En;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 
 public class GameEntityStepdefs implements En {
 
     Game game;
+    // the entities of the hierarchy scenarios, by name.
+    private final Map<String, GameEntity> family = new HashMap<>();
 
     public GameEntityStepdefs() {
         Given("a Game is instantiated", () -> {
@@ -19,6 +27,11 @@ public class GameEntityStepdefs implements En {
             game = (Game) TestContext.get("game", new Game("/test.properties", true));
             game.getSceneManager().activateDefaultScene();
         });
+        Given("a Game is instantiated with the configuration {string}", (String configFile) -> {
+            TestContext.clear();
+            game = (Game) TestContext.get("game", new Game(configFile, true));
+            game.getSceneManager().activateDefaultScene();
+        });
         And("the entities map is empty", () -> {
             assertTrue(game.getSceneManager().getActiveScene().getEntities().isEmpty());
         });
@@ -40,6 +53,34 @@ public class GameEntityStepdefs implements En {
             GameEntity e = game.getSceneManager().getActiveScene().getEntities().get(entityName);
             e.setStickToCamera(true);
         });
+        Given("the entity {string} has the children {string}", (String parentName, String childNames) -> {
+            GameEntity parent = family.computeIfAbsent(parentName, GameEntity::new);
+            for (String childName : childNames.split(",")) {
+                parent.addChild(family.computeIfAbsent(childName, GameEntity::new));
+            }
+        });
+        When("I remove the child {string} from {string}", (String childName, String parentName) -> {
+            family.get(parentName).removeChild(family.get(childName));
+        });
+        When("I move the child {string} to {string}", (String childName, String parentName) -> {
+            family.get(parentName).addChild(family.get(childName));
+        });
+        Then("the hierarchy of {string} is {string}", (String name, String names) -> {
+            EntityHierarchy h = family.get(name).getHierarchy();
+            List<String> nodes = new ArrayList<>();
+            for (int i = 0; i < h.size(); i++) {
+                nodes.add(h.get(i).name);
+            }
+            assertEquals(names, String.join(",", nodes));
+        });
+        Then("the subtree sizes in the hierarchy of {string} are {string}", (String name, String sizes) -> {
+            EntityHierarchy h = family.get(name).getHierarchy();
+            List<String> values = new ArrayList<>();
+            for (int i = 0; i < h.size(); i++) {
+                values.add(String.valueOf(h.getSubtreeSize(i)));
+            }
+            assertEquals(sizes, String.join(",", values));
+        });
     }
 
 }
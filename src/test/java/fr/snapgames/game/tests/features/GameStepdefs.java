@@ -1,9 +1,19 @@
 package fr.snapgames.game.tests.features;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import fr.snapgames.game.core.Game;
+import fr.snapgames.game.core.entity.EntityHierarchy;
+import fr.snapgames.game.core.entity.GameEntity;
 import fr.snapgames.game.core.graphics.Renderer;
+import fr.snapgames.game.core.math.StateHash;
 import fr.snapgames.game.core.math.Vector2D;
 import fr.snapgames.game.core.math.World;
 import fr.snapgames.game.core.scene.Scene;
@@ -11,8 +21,54 @@ import io.cucumber.java8.En;
 
 public class GameStepdefs implements En {
     Game game;
+    // the physic state hashes of the successive headless runs.
+    private final List<Long> hashes = new ArrayList<>();
+    // the hashes of the exact positions and speeds of the bodies at the end of the successive headless runs.
+    private final List<Long> states = new ArrayList<>();
 
     public GameStepdefs() {
+        Given("a headless Game runs {int} loops", (Integer nbLoops) -> {
+            TestContext.clear();
+            game = (Game) TestContext.get("game", new Game("/test.properties", false));
+            game.run(new String[]{"headless=true", "testCounter=" + nbLoops});
+        });
+        Then("the Game loop counter is greater than {int}", (Integer nbLoops) -> {
+            game = (Game) TestContext.get("game");
+            assertTrue(game.getStats().getLong("cnt") > nbLoops);
+        });
+        When("a headless Game runs the {string} scene for {int} loops with {string}",
+                (String sceneName, Integer nbLoops, String options) -> {
+                    TestContext.clear();
+                    Game g = new Game("/test.properties", false);
+                    List<String> args = new ArrayList<>(Arrays.asList(
+                            "headless=true",
+                            "testCounter=" + nbLoops,
+                            "seed=42",
+                            "sceneDefault=" + sceneName));
+                    args.addAll(Arrays.asList(options.split(",")));
+                    g.run(args.toArray(new String[0]));
+                    if (g.getPhysicEngine().isDeterministic()) {
+                        hashes.add(g.getPhysicEngine().getStateHash());
+                    }
+                    states.add(hashBodies(g));
+                });
+        Then("all the Games have the same physic state hash", () -> {
+            assertTrue(hashes.size() > 1);
+            // a moving scene, not the hash of an empty one.
+            assertNotEquals(StateHash.OFFSET, hashes.get(0));
+            for (long hash : hashes) {
+                assertEquals(hashes.get(0), hash);
+            }
+            hashes.clear();
+            states.clear();
+        });
+        Then("all the Games end with the same bodies state", () -> {
+            assertTrue(states.size() > 1);
+            for (long state : states) {
+                assertEquals(states.get(0), state);
+            }
+            states.clear();
+        });
         Then("I update {int} times the Game of {int} ms steps", (Integer nbUpdate, Integer step) -> {
             game = (Game) TestContext.get("game");
             World world = new World(
@@ -35,6 +91,28 @@ public class GameStepdefs implements En {
                             e.position.y);
                 });
             }
-        });
+        });    }
+
+    /**
+     * Hash the exact double values of the position and speed of all the entities of the active scene and their
+     * children, in the entities name order.
+     */
+    private static long hashBodies(Game g) {
+        long hash = StateHash.OFFSET;
+        for (GameEntity e : g.getSceneManager().getActiveScene().getEntities().values()) {
+            hash = hashBody(hash, e);
+            EntityHierarchy h = e.getHierarchy();
+            for (int i = 0; i < h.size(); i++) {
+                hash = hashBody(hash, h.get(i));
+            }
+        }
+        return hash;
+    }
+
+    private static long hashBody(long hash, GameEntity e) {
+        hash = StateHash.mix(hash, Double.doubleToLongBits(e.position.x));
+        hash = StateHash.mix(hash, Double.doubleToLongBits(e.position.y));
+        hash = StateHash.mix(hash, Double.doubleToLongBits(e.speed.x));
+        return StateHash.mix(hash, Double.doubleToLongBits(e.speed.y));
     }
 }
@@ -0,0 +1,96 @@
+package fr.snapgames.game.tests.features;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.event.KeyEvent;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import fr.snapgames.game.core.Game;
+import fr.snapgames.game.core.io.InputHandler;
+import fr.snapgames.game.core.io.InputRecorder;
+import fr.snapgames.game.core.io.InputReplayer;
+import fr.snapgames.game.tests.features.scenes.InputTestScene;
+import io.cucumber.java8.En;
+
+public class InputStepdefs implements En {
+    Game game;
+    private Path file;
+    private InputRecorder recorder;
+    // the keys state after each recorded tick.
+    private final List<String> recorded = new ArrayList<>();
+    private Game replay;
+
+    public InputStepdefs() {
+        Given("the keyboard input is recorded with the seed {long}", (Long seed) -> {
+            game = (Game) TestContext.get("game");
+            file = Files.createTempFile("input", ".rec");
+            file.toFile().deleteOnExit();
+            recorder = new InputRecorder(file, seed);
+            game.getInputHandler().setRecorder(recorder);
+            recorded.clear();
+        });
+        When("the key {int} is pressed", (Integer keyCode) -> {
+            game.getInputHandler().keyPressed(keyEvent(KeyEvent.KEY_PRESSED, keyCode, 0));
+        });
+        When("the key {int} is pressed with shift", (Integer keyCode) -> {
+            game.getInputHandler().keyPressed(keyEvent(KeyEvent.KEY_PRESSED, keyCode, KeyEvent.SHIFT_DOWN_MASK));
+        });
+        When("the key {int} is released", (Integer keyCode) -> {
+            game.getInputHandler().keyReleased(keyEvent(KeyEvent.KEY_RELEASED, keyCode, 0));
+        });
+        When("the input ticks {int} times", (Integer nbTicks) -> {
+            InputHandler ih = game.getInputHandler();
+            for (int i = 0; i < nbTicks; i++) {
+                ih.tick();
+                recorded.add(InputTestScene.keysState(ih));
+            }
+        });
+        When("the keyboard input record is closed", () -> {
+            recorder.close();
+        });
+        When("a headless Game replays the keyboard input record for {int} loops", (Integer nbLoops) -> {
+            replay = new Game("/test.properties", false);
+            replay.run(new String[]{
+                    "headless=true",
+                    "testCounter=" + nbLoops,
+                    "sceneDefault=input",
+                    "inputReplay=" + file});
+        });
+        Then("the replay has the same keys state at each tick", () -> {
+            @SuppressWarnings("unchecked")
+            List<String> replayed = (List<String>) TestContext.get("replayKeys");
+            assertEquals(recorded, replayed.subList(0, recorded.size()));
+        });
+        Then("the replay uses the seed {long}", (Long seed) -> {
+            assertEquals(new Random(seed).nextLong(), TestContext.get("replayRandom"));
+        });
+        Then("the replay ends after {int} ticks", (Integer nbTicks) -> {
+            // the tick reaching the end of the log is the last one.
+            assertEquals(nbTicks + 1, replay.getStats().getLong("cnt"));
+        });
+        Given("a keyboard input record file starting with the magic number {int}", (Integer magic) -> {
+            file = Files.createTempFile("input", ".rec");
+            file.toFile().deleteOnExit();
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+                out.writeInt(magic);
+                out.writeShort(1);
+                out.writeLong(1234L);
+            }
+        });
+        Then("the keyboard input record is rejected", () -> {
+            IOException e = assertThrows(IOException.class, () -> new InputReplayer(file));
+            assertEquals("not an input record file", e.getMessage());
+        });
+    }
+
+    private KeyEvent keyEvent(int id, int keyCode, int modifiers) {
+        return new KeyEvent(game, id, System.currentTimeMillis(), modifiers, keyCode, KeyEvent.CHAR_UNDEFINED);
+    }
+}
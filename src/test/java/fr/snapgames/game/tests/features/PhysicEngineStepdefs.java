@@ -1,11 +1,32 @@
 package fr.snapgames.game.tests.features;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import fr.snapgames.game.core.Game;
+import fr.snapgames.game.core.behaviors.Behavior;
+import fr.snapgames.game.core.entity.EntityType;
+import fr.snapgames.game.core.entity.GameEntity;
+import fr.snapgames.game.core.entity.Influencer;
+import fr.snapgames.game.core.math.Collision;
+import fr.snapgames.game.core.math.Material;
+import fr.snapgames.game.core.math.PhysicType;
+import fr.snapgames.game.core.math.RaycastHit;
+import fr.snapgames.game.core.math.SpatialGrid;
 import fr.snapgames.game.core.math.Vector2D;
 import fr.snapgames.game.core.math.World;
 import io.cucumber.java8.En;
 
 import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Step tests for {@link fr.snapgames.game.core.math.PhysicEngine}
@@ -14,7 +35,20 @@ import java.awt.*;
  * @since 0.0.2
  **/
 public class PhysicEngineStepdefs implements En {
+    // the time of one update at 60 updates per second, scaled as the Game loop does.
+    private static final double UPDATE_STEP = 16.0 * 0.04;
+    private static final double EPSILON = 0.01;
     private Game game;
+    // copies of the last collision notified to the recording bodies (the collisions are reused by the engine).
+    private final Map<String, Collision> recorded = new HashMap<>();
+    private SpatialGrid grid;
+    private final Map<String, GameEntity> gridEntities = new HashMap<>();
+    private RaycastHit hit;
+    // the child bodies, not known by the scene, and the first position of all the bodies.
+    private final Map<String, GameEntity> children = new HashMap<>();
+    private final Map<String, Vector2D> starts = new HashMap<>();
+    // the number of updates having moved each body.
+    private final Map<String, Integer> integrations = new HashMap<>();
 
     public PhysicEngineStepdefs() {
         And("I Add a World with a play area of {int} x {int}", (Integer playAreaWidth, Integer playAreaHeight) -> {
@@ -24,5 +58,231 @@ public class PhysicEngineStepdefs implements En {
                             new Dimension(playAreaWidth, playAreaHeight),
                             new Vector2D(0, 0)));
         });
+        And("I add a body {string} at {double},{double} of size {double} x {double}",
+                (String name, Double x, Double y, Double width, Double height) -> {
+                    game = (Game) TestContext.get("game");
+                    GameEntity e = new GameEntity(name)
+                            .setPosition(new Vector2D(x, y))
+                            .setSize(new Vector2D(width, height))
+                            .setMaterial(Material.WOOD)
+                            .setMass(10.0)
+                            .setCollidable(true);
+                    starts.put(name, new Vector2D(x, y));
+                    game.getSceneManager().getActiveScene().add(e);
+                });
+        And("I add a child body {string} to {string} at {double},{double} of size {double} x {double}",
+                (String name, String parentName, Double x, Double y, Double width, Double height) -> {
+                    GameEntity e = new GameEntity(name)
+                            .setPosition(new Vector2D(x, y))
+                            .setSize(new Vector2D(width, height))
+                            .setMaterial(Material.WOOD)
+                            .setMass(10.0);
+                    starts.put(name, new Vector2D(x, y));
+                    children.put(name, e);
+                    getEntity(parentName).addChild(e);
+                });
+        And("the physic type of the body {string} is {string}", (String name, String type) -> {
+            getEntity(name).setPhysicType(PhysicType.valueOf(type));
+        });
+        And("I update the physic {int} times", (Integer nbUpdates) -> {
+            game = (Game) TestContext.get("game");
+            for (int i = 0; i < nbUpdates; i++) {
+                game.getPhysicEngine().update(UPDATE_STEP);
+            }
+        });
+        And("I update the physic {int} times counting the integrations", (Integer nbUpdates) -> {
+            game = (Game) TestContext.get("game");
+            for (int i = 0; i < nbUpdates; i++) {
+                game.getPhysicEngine().update(UPDATE_STEP);
+                for (String name : starts.keySet()) {
+                    GameEntity e = getEntity(name);
+                    if (e.position.x != e.previousPosition.x || e.position.y != e.previousPosition.y) {
+                        integrations.merge(name, 1, Integer::sum);
+                    }
+                }
+            }
+        });
+        And("the bodies {string} fall asleep", (String names) -> {
+            for (String name : names.split(",")) {
+                GameEntity e = getEntity(name);
+                e.sleeping = true;
+                e.speed.set(0, 0);
+            }
+        });
+        When("I deactivate the body {string}", (String name) -> {
+            getEntity(name).setActive(false);
+        });
+        When("the body {string} moves at {double},{double}", (String name, Double speedX, Double speedY) -> {
+            getEntity(name).speed.set(speedX, speedY);
+        });
+        And("the body {string} is a circle", (String name) -> {
+            getEntity(name).setType(EntityType.CIRCLE);
+        });
+        And("I add an influencer {string} at {double},{double} of size {double} x {double} with a force of {double},{double}",
+                (String name, Double x, Double y, Double width, Double height, Double forceX, Double forceY) -> {
+                    game = (Game) TestContext.get("game");
+                    game.getSceneManager().getActiveScene().add(new Influencer(name)
+                            .setPosition(new Vector2D(x, y))
+                            .setSize(new Vector2D(width, height))
+                            .setMaterial(Material.AIR)
+                            .addForce(forceX, forceY));
+                });
+        When("I move the influencer {string} to {double},{double}", (String name, Double x, Double y) -> {
+            getEntity(name).position.set(x, y);
+        });
+        And("the body {string} is fast", (String name) -> {
+            getEntity(name).setFast(true);
+        });
+        And("the body {string} is collidable", (String name) -> {
+            getEntity(name).setCollidable(true);
+        });
+        And("the body {string} is not collidable", (String name) -> {
+            getEntity(name).setCollidable(false);
+        });
+        And("the body {string} records its collisions", (String name) -> {
+            getEntity(name).addBehavior(new Behavior<GameEntity>() {
+                @Override
+                public void onCollision(Game g, GameEntity entity, Collision c) {
+                    Collision copy = new Collision();
+                    copy.a = c.a;
+                    copy.b = c.b;
+                    copy.normalX = c.normalX;
+                    copy.normalY = c.normalY;
+                    copy.penetration = c.penetration;
+                    recorded.put(entity.name, copy);
+                }
+            });
+        });
+        And("the body {string} ignores its collisions", (String name) -> {
+            getEntity(name).addBehavior(new Behavior<GameEntity>() {
+                @Override
+                public void onCollision(Game g, GameEntity entity, Collision c) {
+                    c.ignore();
+                }
+            });
+        });
+        When("I detect the collisions", () -> {
+            game = (Game) TestContext.get("game");
+            game.getPhysicEngine().getCollisionSystem().update();
+        });
+        Then("{int} collision(s) is/are detected", (Integer count) -> {
+            assertEquals(count, game.getPhysicEngine().getCollisionSystem().getCollisionCount());
+        });
+        Then("the body {string} collided {string} with the normal {double},{double} and a penetration of {double}",
+                (String name, String other, Double normalX, Double normalY, Double penetration) -> {
+                    Collision c = recorded.get(name);
+                    assertEquals(name + "," + other, c.a.name + "," + c.b.name);
+                    assertEquals(normalX, c.normalX, EPSILON);
+                    assertEquals(normalY, c.normalY, EPSILON);
+                    assertEquals(penetration, c.penetration, EPSILON);
+                });
+        Then("the body {string} is at {double},{double}", (String name, Double x, Double y) -> {
+            GameEntity e = getEntity(name);
+            assertEquals(x, e.position.x, EPSILON);
+            assertEquals(y, e.position.y, EPSILON);
+        });
+        Then("the body {string} speed is {double},{double}", (String name, Double speedX, Double speedY) -> {
+            GameEntity e = getEntity(name);
+            assertEquals(speedX, e.speed.x, EPSILON);
+            assertEquals(speedY, e.speed.y, EPSILON);
+        });
+        Given("a spatial grid of {int} x {int} with cells of {int}", (Integer width, Integer height, Integer cellSize) -> {
+            grid = new SpatialGrid(width, height, cellSize);
+        });
+        And("the entity {string} at {double},{double} of size {double} x {double} is in the grid",
+                (String name, Double x, Double y, Double width, Double height) -> {
+                    GameEntity e = new GameEntity(name)
+                            .setPosition(new Vector2D(x, y))
+                            .setSize(new Vector2D(width, height));
+                    e.updateBox();
+                    gridEntities.put(name, e);
+                    grid.insert(e);
+                });
+        When("the entity {string} moves to {double},{double} in the grid", (String name, Double x, Double y) -> {
+            GameEntity e = gridEntities.get(name);
+            e.setPosition(new Vector2D(x, y));
+            e.updateBox();
+            grid.update(e);
+        });
+        Then("the grid query of {double},{double} of size {double} x {double} finds {string}",
+                (Double x, Double y, Double width, Double height, String names) -> {
+                    List<GameEntity> found = grid.query(new Rectangle2D.Double(x, y, width, height), new ArrayList<>());
+                    assertEquals(names, getNames(found));
+                });
+        Then("the grid entities at {double} around {double},{double} are {string}",
+                (Double radius, Double x, Double y, String names) -> {
+                    List<GameEntity> found = new ArrayList<>();
+                    grid.collectInRadius(x, y, radius, e -> true, found);
+                    assertEquals(names, getNames(found));
+                });
+        Then("the nearest grid entity to {double},{double} within {double} is {string}",
+                (Double x, Double y, Double maxDistance, String name) -> {
+                    GameEntity nearest = grid.nearest(x, y, maxDistance, e -> true);
+                    assertEquals(name, nearest != null ? nearest.name : "none");
+                });
+        When("I cast a ray from {double},{double} toward {double},{double} within {double}",
+                (Double x, Double y, Double dx, Double dy, Double maxDistance) -> {
+                    hit = new RaycastHit();
+                    hit.distance = maxDistance;
+                    grid.raycast(x, y, dx, dy, e -> true, hit);
+                });
+        Then("the ray hits {string} at {double},{double} with the normal {double},{double}",
+                (String name, Double hitX, Double hitY, Double normalX, Double normalY) -> {
+                    assertEquals(name, hit.hasHit() ? hit.entity.name : "nothing");
+                    assertEquals(hitX, hit.x, EPSILON);
+                    assertEquals(hitY, hit.y, EPSILON);
+                    assertEquals(normalX, hit.normalX, EPSILON);
+                    assertEquals(normalY, hit.normalY, EPSILON);
+                });
+        Then("the ray hits nothing", () -> {
+            assertNull(hit.entity);
+        });
+        Then("the body {string} has moved", (String name) -> {
+            assertNotEquals(starts.get(name).x, getEntity(name).position.x);
+        });
+        Then("the body {string} has not moved", (String name) -> {
+            assertEquals(starts.get(name).x, getEntity(name).position.x);
+            assertEquals(starts.get(name).y, getEntity(name).position.y);
+        });
+        Then("the body {string} has been integrated {int} times", (String name, Integer count) -> {
+            assertEquals(count, integrations.getOrDefault(name, 0));
+        });
+        Then("the body {string} has the speed of {string}", (String name, String other) -> {
+            assertEquals(getEntity(other).speed.x, getEntity(name).speed.x, 1e-9);
+            assertEquals(getEntity(other).speed.y, getEntity(name).speed.y, 1e-9);
+        });
+        Then("the body {string} has moved as far as {string} by {double}",
+                (String name, String other, Double tolerance) -> {
+                    double distance = getEntity(name).position.x - starts.get(name).x;
+                    double otherDistance = getEntity(other).position.x - starts.get(other).x;
+                    assertEquals(otherDistance, distance, tolerance);
+                });
+        Then("the body {string} has a vertical speed", (String name) -> {
+            assertNotEquals(0.0, getEntity(name).speed.y);
+        });
+        Then("the body {string} has no vertical speed", (String name) -> {
+            assertEquals(0.0, getEntity(name).speed.y);
+        });
+        Then("the body {string} is awake", (String name) -> {
+            assertFalse(getEntity(name).isSleeping());
+        });
+        Then("the body {string} is sleeping", (String name) -> {
+            assertTrue(getEntity(name).isSleeping());
+        });
+    }
+
+    /**
+     * @return the sorted names of the entities, separated by commas.
+     */
+    private static String getNames(List<GameEntity> entities) {
+        return entities.stream().map(e -> e.name).sorted().collect(Collectors.joining(","));
+    }
+
+    private GameEntity getEntity(String name) {
+        if (children.containsKey(name)) {
+            return children.get(name);
+        }
+        game = (Game) TestContext.get("game");
+        return game.getSceneManager().getActiveScene().getEntity(name);
     }
 }
@@ -2,10 +2,10 @@ package fr.snapgames.game.tests.features;
 
 import fr.snapgames.game.core.Game;
 import fr.snapgames.game.core.entity.GameEntity;
+import fr.snapgames.game.core.monitoring.StatsRegistry;
 import io.cucumber.java8.En;
 import org.junit.jupiter.api.Assertions;
 
-import java.util.HashMap;
 
 /**
  * Test for {@link fr.snapgames.game.core.graphics.Renderer} service.
@@ -19,7 +19,7 @@ public class RendererStepdefs implements En {
     public RendererStepdefs() {
         Then("I render the current Scene", () -> {
             game = (Game) TestContext.get("game");
-            game.getRenderer().draw(new HashMap<>());
+            game.getRenderer().draw(new StatsRegistry());
         });
         And("the {string} {string} has been rendered by the {string} plugin", (String entityType, String entityName, String pluginName) -> {
             game = (Game) TestContext.get("game");
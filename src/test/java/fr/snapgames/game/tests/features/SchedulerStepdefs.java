@@ -0,0 +1,100 @@
+package fr.snapgames.game.tests.features;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import fr.snapgames.game.core.time.Scheduler;
+import io.cucumber.java8.En;
+
+/**
+ * Step tests for {@link Scheduler}.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ */
+public class SchedulerStepdefs implements En {
+    private Scheduler scheduler;
+    // the named tasks and the game times they ran at.
+    private final Map<String, Scheduler.Timer> timers = new HashMap<>();
+    private final Map<String, List<Long>> runs = new HashMap<>();
+    // the random tasks expected deadlines, and the ones they actually ran at.
+    private final Map<Integer, Long> deadlines = new HashMap<>();
+    private final Map<Integer, List<Long>> randomRuns = new HashMap<>();
+
+    public SchedulerStepdefs() {
+        Given("a Scheduler", () -> {
+            scheduler = new Scheduler();
+            timers.clear();
+            runs.clear();
+            deadlines.clear();
+            randomRuns.clear();
+        });
+        And("the task {string} is scheduled in {long} ms", (String name, Long delay) -> {
+            runs.put(name, new ArrayList<>());
+            timers.put(name, scheduler.schedule(delay, () -> runs.get(name).add(scheduler.getTime())));
+        });
+        And("the task {string} is scheduled in {long} ms every {long} ms", (String name, Long delay, Long period) -> {
+            runs.put(name, new ArrayList<>());
+            timers.put(name, scheduler.scheduleRepeating(delay, period,
+                    () -> runs.get(name).add(scheduler.getTime())));
+        });
+        When("the Scheduler time advances {int} times by {double} ms", (Integer nbSteps, Double elapsed) -> {
+            for (int i = 0; i < nbSteps; i++) {
+                scheduler.advance(elapsed);
+            }
+        });
+        When("the task {string} is cancelled", (String name) -> {
+            timers.get(name).cancel();
+        });
+        When("all the tasks are cancelled", () -> {
+            scheduler.cancelAll();
+        });
+        When("{int} random tasks are scheduled while the time advances, with the seed {long}",
+                (Integer nbTasks, Long seed) -> {
+                    Random random = new Random(seed);
+                    for (int id = 0; id < nbTasks; id++) {
+                        // mostly short delays, some of them beyond the range of the wheels.
+                        long delay = random.nextInt(10) == 0
+                                ? random.nextInt(20_000_000)
+                                : random.nextInt(5000) + 1;
+                        final int taskId = id;
+                        randomRuns.put(id, new ArrayList<>());
+                        Scheduler.Timer timer = scheduler.schedule(delay,
+                                () -> randomRuns.get(taskId).add(scheduler.getTime()));
+                        if (random.nextInt(5) == 0) {
+                            timer.cancel();
+                        } else {
+                            deadlines.put(id, timer.getDeadline());
+                        }
+                        if (id % 3 == 2) {
+                            scheduler.advance(random.nextDouble() * 40);
+                        }
+                    }
+                });
+        Then("the task {string} has run {int} times", (String name, Integer nbRuns) -> {
+            assertEquals(nbRuns.intValue(), runs.get(name).size());
+        });
+        Then("the task {string} has last run at {long} ms", (String name, Long time) -> {
+            List<Long> times = runs.get(name);
+            assertEquals(time, times.get(times.size() - 1));
+        });
+        Then("the Scheduler has {int} tasks", (Integer nbTasks) -> {
+            assertEquals(nbTasks.intValue(), scheduler.size());
+        });
+        Then("all the random tasks have run once at their deadline", () -> {
+            for (Map.Entry<Integer, List<Long>> entry : randomRuns.entrySet()) {
+                Long deadline = deadlines.get(entry.getKey());
+                if (deadline == null) {
+                    assertEquals(0, entry.getValue().size(), "cancelled task " + entry.getKey() + " has run");
+                } else {
+                    assertEquals(List.of(deadline), entry.getValue(), "task " + entry.getKey());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package fr.snapgames.game.tests.features.scenes;
+
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import fr.snapgames.game.core.Game;
+import fr.snapgames.game.core.graphics.Renderer;
+import fr.snapgames.game.core.io.InputHandler;
+import fr.snapgames.game.core.scene.AbstractScene;
+import fr.snapgames.game.tests.features.TestContext;
+
+/**
+ * A scene keeping track of the keys state at each game tick into the {@link TestContext}, to compare a replayed
+ * keyboard input with the recorded one.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ **/
+public class InputTestScene extends AbstractScene {
+    private static final int[] KEYS = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_SPACE};
+
+    public InputTestScene(Game g, String name) {
+        super(g, name);
+    }
+
+    /**
+     * Describe the keys state of an {@link InputHandler}: the pressed keys and the shift modifier.
+     *
+     * @param ih the {@link InputHandler} to be described.
+     * @return a String like <code>37,32,shift</code>.
+     */
+    public static String keysState(InputHandler ih) {
+        List<String> pressed = new ArrayList<>();
+        for (int key : KEYS) {
+            if (ih.getKey(key)) {
+                pressed.add(String.valueOf(key));
+            }
+        }
+        if (ih.isShiftPressed()) {
+            pressed.add("shift");
+        }
+        return String.join(",", pressed);
+    }
+
+    @Override
+    public void loadResources(Game g) {
+
+    }
+
+    @Override
+    public void create(Game g) {
+        // the first value of the game random generator, to check its seed.
+        TestContext.add("replayRandom", g.getRandom().nextLong());
+        TestContext.add("replayKeys", new ArrayList<String>());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void input(Game g, InputHandler ih) {
+        ((List<String>) TestContext.get("replayKeys")).add(keysState(ih));
+    }
+
+    @Override
+    public void draw(Game g, Renderer r) {
+
+    }
+
+    @Override
+    public void dispose(Game g) {
+
+    }
+}
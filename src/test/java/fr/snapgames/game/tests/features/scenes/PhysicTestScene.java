@@ -0,0 +1,80 @@
+package fr.snapgames.game.tests.features.scenes;
+
+import java.awt.Dimension;
+import java.awt.geom.Rectangle2D;
+
+import fr.snapgames.game.core.Game;
+import fr.snapgames.game.core.entity.Camera;
+import fr.snapgames.game.core.entity.GameEntity;
+import fr.snapgames.game.core.entity.Influencer;
+import fr.snapgames.game.core.graphics.Renderer;
+import fr.snapgames.game.core.math.Material;
+import fr.snapgames.game.core.math.PhysicType;
+import fr.snapgames.game.core.math.Vector2D;
+import fr.snapgames.game.core.math.World;
+import fr.snapgames.game.core.scene.AbstractScene;
+
+/**
+ * A scene exercising the physic engine: collidable balls randomly placed (from the game random generator), a
+ * static block, a kinematic platform and a water influencer, the camera following the first ball.
+ *
+ * @author Frédéric Delorme
+ * @since 0.0.6
+ **/
+public class PhysicTestScene extends AbstractScene {
+    public PhysicTestScene(Game g, String name) {
+        super(g, name);
+    }
+
+    @Override
+    public void loadResources(Game g) {
+
+    }
+
+    @Override
+    public void create(Game g) {
+        World world = g.getPhysicEngine().getWorld();
+        Dimension playArea = world.getPlayArea();
+        for (int i = 0; i < 200; i++) {
+            add(new GameEntity(String.format("ball_%03d", i))
+                    .setPosition(new Vector2D(
+                            g.getRandom().nextDouble() * (playArea.width - 16),
+                            g.getRandom().nextDouble() * (playArea.height * 0.5)))
+                    .setSize(new Vector2D(8 + g.getRandom().nextInt(8), 8 + g.getRandom().nextInt(8)))
+                    .setSpeed(new Vector2D(g.getRandom().nextDouble() * 4 - 2, g.getRandom().nextDouble() * 4 - 2))
+                    .setMaterial(Material.RUBBER)
+                    .setMass(5.0 + g.getRandom().nextDouble() * 5.0)
+                    .setCollidable(true));
+        }
+        add(new GameEntity("block")
+                .setPosition(new Vector2D(playArea.width * 0.25, playArea.height * 0.6))
+                .setSize(new Vector2D(64, 16))
+                .setPhysicType(PhysicType.STATIC)
+                .setCollidable(true));
+        add(new GameEntity("platform")
+                .setPosition(new Vector2D(playArea.width * 0.5, playArea.height * 0.7))
+                .setSize(new Vector2D(64, 16))
+                .setSpeed(new Vector2D(1.0, 0.0))
+                .setPhysicType(PhysicType.KINEMATIC)
+                .setCollidable(true));
+        add(new Influencer("water")
+                .setPosition(new Vector2D(0, playArea.height * 0.85))
+                .setSize(new Vector2D(playArea.width, playArea.height * 0.15))
+                .setMaterial(Material.WATER)
+                .addForce(world.getGravity().multiply(0.98)));
+        g.getRenderer().setCurrentCamera(new Camera("camera")
+                .setTarget(getEntity("ball_000"))
+                .setTween(0.1)
+                .setViewport(new Rectangle2D.Double(0, 0, 320, 200)));
+    }
+
+    @Override
+    public void draw(Game g, Renderer r) {
+
+    }
+
+    @Override
+    public void dispose(Game g) {
+
+    }
+}
@@ -0,0 +1,39 @@
+Feature: U1000 - the PhysicEngine integrates the bodies far from the camera less often
+
+  With the physic level of detail, a body far from the camera viewport is integrated every 2nd, 4th or 8th update,
+  on all the time elapsed since its previous integration.
+
+  @PhysicEngine @LevelOfDetail
+  Scenario: U1001 - A far body is integrated every 8th update on the elapsed time of the skipped ones
+    Given a Game is instantiated with the configuration "/test-lod.properties"
+    And I Add a World with a play area of 2000 x 400
+    And I add a Camera named "cam01"
+    And I set Camera "cam01" viewport as 320,200
+    And I add a body "near" at 100.0,100.0 of size 16.0 x 16.0
+    And I add a body "middle" at 600.0,100.0 of size 16.0 x 16.0
+    And I add a body "far" at 1800.0,100.0 of size 16.0 x 16.0
+    And the body "near" moves at 1.0,0.0
+    And the body "middle" moves at 1.0,0.0
+    And the body "far" moves at 1.0,0.0
+    When I update the physic 16 times counting the integrations
+    Then the body "near" has been integrated 16 times
+    And the body "middle" has been integrated 8 times
+    And the body "far" has been integrated 2 times
+
+  @PhysicEngine @LevelOfDetail
+  Scenario: U1002 - A far body coming back near the camera catches up at once
+    Given a Game is instantiated with the configuration "/test-lod.properties"
+    And I Add a World with a play area of 2000 x 400
+    And I add a Camera named "cam01"
+    And I set Camera "cam01" viewport as 320,200
+    And I add a body "near" at 100.0,100.0 of size 16.0 x 16.0
+    And I add a body "far" at 1800.0,100.0 of size 16.0 x 16.0
+    And the body "near" moves at 1.0,0.0
+    And the body "far" moves at 1.0,0.0
+    And I update the physic 16 times counting the integrations
+    When I set Camera "cam01" viewport as 2000,400
+    And I update the physic 1 times counting the integrations
+    Then the body "near" has been integrated 17 times
+    And the body "far" has been integrated 3 times
+    And the body "far" has the speed of "near"
+    And the body "far" has moved as far as "near" by 0.5
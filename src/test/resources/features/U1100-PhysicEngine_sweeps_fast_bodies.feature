@@ -0,0 +1,40 @@
+Feature: U1100 - the PhysicEngine checks the whole move of the fast bodies
+
+  A fast body is constrained to the play area from its move during the update, and gets the force of the
+  influencers crossed by this move, even if it does not overlap them before nor after the update.
+
+  @PhysicEngine @Fast
+  Scenario: U1101 - A fast body crossing a side of the play area is reflected after the time of impact
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add a body "bullet" at 634.5,100.0 of size 4.0 x 4.0
+    And the body "bullet" is fast
+    And the body "bullet" moves at 10.0,0.0
+    When I update the physic 1 times
+    Then the body "bullet" is at 635.73,100.0
+    And the body "bullet" speed is -1.98,0.0
+
+  @PhysicEngine @Fast
+  Scenario: U1102 - A fast body moving less than half its size is stopped on the side
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add a body "box" at 622.0,100.0 of size 16.0 x 16.0
+    And the body "box" is fast
+    And the body "box" moves at 10.0,0.0
+    When I update the physic 1 times
+    Then the body "box" is at 624.0,100.0
+    And the body "box" speed is -1.98,0.0
+
+  @PhysicEngine @Fast
+  Scenario: U1103 - A fast body gets the force of a thin influencer crossed in one update
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add an influencer "wall" at 300.0,0.0 of size 2.0 x 400.0 with a force of 0.0,5.0
+    And I add a body "fast" at 299.0,100.0 of size 0.5 x 0.5
+    And the body "fast" is fast
+    And the body "fast" moves at 10.0,0.0
+    And I add a body "slow" at 299.0,200.0 of size 0.5 x 0.5
+    And the body "slow" moves at 10.0,0.0
+    When I update the physic 1 times
+    Then the body "fast" has a vertical speed
+    And the body "slow" has no vertical speed
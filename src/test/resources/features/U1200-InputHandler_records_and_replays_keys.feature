@@ -0,0 +1,29 @@
+Feature: U1200 - the InputHandler records and replays the keyboard input
+
+  The key transitions of each tick are recorded into a log file, with the seed of the game random generator, to
+  be replayed later by a headless Game exactly at the same ticks.
+
+  @Input
+  Scenario: U1201 - A headless Game replays the recorded keys at the same ticks with the same seed
+    Given a Game is instantiated
+    And the keyboard input is recorded with the seed 1234
+    When the key 37 is pressed
+    And the input ticks 2 times
+    And the key 32 is pressed with shift
+    And the input ticks 1 times
+    And the key 37 is released
+    And the key 39 is pressed
+    And the key 32 is released
+    And the input ticks 3 times
+    And the key 39 is released
+    And the input ticks 1 times
+    And the keyboard input record is closed
+    And a headless Game replays the keyboard input record for 100 loops
+    Then the replay has the same keys state at each tick
+    And the replay uses the seed 1234
+    And the replay ends after 7 ticks
+
+  @Input
+  Scenario: U1202 - A file which is not an input log is rejected
+    Given a keyboard input record file starting with the magic number 1234
+    Then the keyboard input record is rejected
@@ -0,0 +1,22 @@
+Feature: U1300 - the BodyStore integrates the bodies
+
+  The bodies are integrated with the semi-implicit Euler, the velocity Verlet or the midpoint (RK2) scheme,
+  on one or more sub-steps of the update elapsed time.
+
+  @BodyStore
+  Scenario: U1301 - The sub-steps keep the damping of one whole update
+    Given a body store with a body moving at 10.0,0.0 under a force of 0.0,0.0 with a roughness of 0.81
+    When the body store integrates 1 updates of 1.0 with 2 sub-steps using "SEMI_IMPLICIT_EULER"
+    Then the body store body speed is 8.1,0.0
+    When the body store integrates 1 updates of 1.0 with 2 sub-steps using "VELOCITY_VERLET"
+    Then the body store body speed is 8.1,0.0
+    When the body store integrates 1 updates of 1.0 with 2 sub-steps using "RK2"
+    Then the body store body speed is 8.1,0.0
+    When the body store integrates 3 updates of 1.0 with 4 sub-steps using "SEMI_IMPLICIT_EULER"
+    Then the body store body speed is 5.31441,0.0
+
+  @BodyStore
+  Scenario: U1302 - The velocity Verlet and RK2 schemes follow a damped body closer than the semi-implicit Euler
+    Given a body store with a body moving at 0.0,0.0 under a force of 2.0,0.0 with a roughness of 0.9
+    Then the "VELOCITY_VERLET" position error after 10 updates of 1.0 is lower than the "SEMI_IMPLICIT_EULER" one
+    And the "RK2" position error after 10 updates of 1.0 is lower than the "SEMI_IMPLICIT_EULER" one
@@ -0,0 +1,35 @@
+Feature: U1400 - the FixedTimeStep paces the updates of the game loop
+
+  The elapsed time of each frame is accumulated and consumed by fixed duration updates, the remaining time giving
+  the interpolation factor used to draw the entities.
+
+  @Time
+  Scenario: U1401 - The frames are converted into whole updates and an interpolation factor
+    Given a fixed time step of 20.0 ms with at most 5 updates per frame
+    When a frame of 50.0 ms elapses
+    Then 2 updates are processed in the frame
+    And the frame is drawn with an interpolation of 0.5
+    When a frame of 15.0 ms elapses
+    Then 1 updates are processed in the frame
+    And the frame is drawn with an interpolation of 0.25
+    When a frame of 10.0 ms elapses
+    Then 0 updates are processed in the frame
+    And the frame is drawn with an interpolation of 0.75
+
+  @Time
+  Scenario: U1402 - A long frame is limited to the maximum number of updates
+    Given a fixed time step of 20.0 ms with at most 5 updates per frame
+    When a frame of 500.0 ms elapses
+    Then 5 updates are processed in the frame
+    And the frame is drawn with an interpolation of 0.0
+    When a frame of 30.0 ms elapses
+    Then 1 updates are processed in the frame
+    And the frame is drawn with an interpolation of 0.5
+
+  @Time
+  Scenario: U1403 - A paused frame is drawn at the current state
+    Given a fixed time step of 20.0 ms with at most 5 updates per frame
+    When a frame of 30.0 ms elapses
+    Then 1 updates are processed in the frame
+    And the frame is drawn with an interpolation of 0.5
+    And the frame is drawn with an interpolation of 1.0 during a pause
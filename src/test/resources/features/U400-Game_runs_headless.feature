@@ -0,0 +1,24 @@
+Feature: U400 - the Game can run headless
+
+  The Game loop can run without any Window, as a simulation, and still produces its loop statistics.
+
+  @Game @Headless
+  Scenario: U401 - The Game runs a number of loops without Window
+    Given a headless Game runs 100 loops
+    Then the Game loop counter is greater than 100
+
+  @Game @Headless @Deterministic
+  Scenario: U402 - The deterministic physic gives the same state hash whatever the loop options
+    When a headless Game runs the "physic" scene for 200 loops with "physicDeterministic=true"
+    And a headless Game runs the "physic" scene for 200 loops with "physicDeterministic=true,physicParallel=true,physicParallelChunk=16"
+    And a headless Game runs the "physic" scene for 200 loops with "physicDeterministic=true,pipelined=true,headlessRender=true"
+    And a headless Game runs the "physic" scene for 200 loops with "physicDeterministic=true,debugMode=3,headlessRender=true"
+    And a headless Game runs the "physic" scene for 200 loops with "physicDeterministic=true"
+    Then all the Games have the same physic state hash
+
+  @Game @Headless @Parallel
+  Scenario: U403 - The parallel integration gives exactly the sequential results
+    When a headless Game runs the "physic" scene for 200 loops with "physicParallel=false"
+    And a headless Game runs the "physic" scene for 200 loops with "physicParallel=true,physicParallelChunk=16"
+    And a headless Game runs the "physic" scene for 200 loops with "physicParallel=true,physicParallelChunk=16,pipelined=true,headlessRender=true"
+    Then all the Games end with the same bodies state
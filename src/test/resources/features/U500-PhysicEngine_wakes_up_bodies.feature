@@ -0,0 +1,47 @@
+Feature: U500 - the PhysicEngine wakes up the sleeping bodies
+
+  A sleeping body is not integrated anymore, and is woken up when the body supporting it leaves its place.
+
+  @PhysicEngine @Sleep
+  Scenario: U501 - A sleeping body is woken up when its support is deactivated
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add a body "low" at 100.0,200.0 of size 16.0 x 16.0
+    And I add a body "top" at 100.0,184.0 of size 16.0 x 16.0
+    And I add a body "far" at 300.0,100.0 of size 16.0 x 16.0
+    And I update the physic 1 times
+    And the bodies "low,top,far" fall asleep
+    When I deactivate the body "low"
+    Then the body "top" is awake
+    And the body "far" is sleeping
+
+  @PhysicEngine @Sleep
+  Scenario: U502 - A sleeping body is woken up when its kinematic support moves away
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add a body "platform" at 100.0,200.0 of size 32.0 x 16.0
+    And the physic type of the body "platform" is "KINEMATIC"
+    And I add a body "box" at 100.0,184.0 of size 16.0 x 16.0
+    And I add a body "far" at 300.0,100.0 of size 16.0 x 16.0
+    And I update the physic 1 times
+    And the bodies "box,far" fall asleep
+    When the body "platform" moves at 5.0,0.0
+    And I update the physic 1 times
+    Then the body "box" is awake
+    And the body "far" is sleeping
+
+  @PhysicEngine @Sleep
+  Scenario: U503 - The sleeping bodies are woken up by an influencer moving onto them or away from them
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add an influencer "wind" at 200.0,100.0 of size 32.0 x 32.0 with a force of 0.0,0.0
+    And I add a body "entered" at 250.0,100.0 of size 16.0 x 16.0
+    And I add a body "left" at 205.0,105.0 of size 16.0 x 16.0
+    And I add a body "far" at 400.0,300.0 of size 16.0 x 16.0
+    And I update the physic 1 times
+    And the bodies "entered,left,far" fall asleep
+    When I move the influencer "wind" to 240.0,100.0
+    And I update the physic 1 times
+    Then the body "entered" is awake
+    And the body "left" is awake
+    And the body "far" is sleeping
@@ -0,0 +1,70 @@
+Feature: U600 - the Scheduler runs timed tasks
+
+  The Scheduler runs delayed and periodic tasks on the game time, through a hierarchical timing wheel.
+
+  @Scheduler
+  Scenario: U601 - A task runs at its exact deadline
+    Given a Scheduler
+    And the task "door" is scheduled in 10 ms
+    When the Scheduler time advances 3 times by 4.0 ms
+    Then the task "door" has run 1 times
+    And the task "door" has last run at 10 ms
+    And the Scheduler has 0 tasks
+
+  @Scheduler
+  Scenario: U602 - A cancelled task does not run
+    Given a Scheduler
+    And the task "door" is scheduled in 10 ms
+    And the task "light" is scheduled in 20 ms
+    When the task "door" is cancelled
+    And the Scheduler time advances 1 times by 30.0 ms
+    Then the task "door" has run 0 times
+    And the task "light" has run 1 times
+    And the Scheduler has 0 tasks
+
+  @Scheduler
+  Scenario: U603 - A repeating task runs every period until it is cancelled
+    Given a Scheduler
+    And the task "blink" is scheduled in 10 ms every 100 ms
+    When the Scheduler time advances 1 times by 1009.0 ms
+    Then the task "blink" has run 10 times
+    And the task "blink" has last run at 910 ms
+    When the task "blink" is cancelled
+    And the Scheduler time advances 1 times by 1000.0 ms
+    Then the task "blink" has run 10 times
+    And the Scheduler has 0 tasks
+
+  @Scheduler
+  Scenario: U604 - Tasks far in the future cascade down the wheels to run at their deadline
+    Given a Scheduler
+    And the task "level1" is scheduled in 64 ms
+    And the task "level2" is scheduled in 4097 ms
+    And the task "level3" is scheduled in 300001 ms
+    And the task "beyond" is scheduled in 20000000 ms
+    When the Scheduler time advances 400 times by 50000.0 ms
+    Then the task "level1" has last run at 64 ms
+    And the task "level2" has last run at 4097 ms
+    And the task "level3" has last run at 300001 ms
+    And the task "beyond" has last run at 20000000 ms
+    And the Scheduler has 0 tasks
+
+  @Scheduler
+  Scenario: U605 - All the tasks can be cancelled at once
+    Given a Scheduler
+    And the task "door" is scheduled in 10 ms
+    And the task "level3" is scheduled in 300001 ms
+    And the task "blink" is scheduled in 10 ms every 100 ms
+    When all the tasks are cancelled
+    And the Scheduler time advances 1 times by 400000.0 ms
+    Then the task "door" has run 0 times
+    And the task "level3" has run 0 times
+    And the task "blink" has run 0 times
+    And the Scheduler has 0 tasks
+
+  @Scheduler
+  Scenario: U606 - Thousands of random tasks run exactly at their deadline
+    Given a Scheduler
+    When 48000 random tasks are scheduled while the time advances, with the seed 1
+    And the Scheduler time advances 1 times by 30000000.0 ms
+    Then all the random tasks have run once at their deadline
+    And the Scheduler has 0 tasks
@@ -0,0 +1,107 @@
+Feature: U700 - the CollisionSystem detects and solves the contacts between bodies
+
+  The collidable bodies overlapping each other are detected, notified to their behaviors, then pushed apart with an
+  impulse along the contact normal.
+
+  @PhysicEngine @Collision
+  Scenario: U701 - Two overlapping boxes are separated along the smallest overlap
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add a body "a" at 100.0,100.0 of size 16.0 x 16.0
+    And I add a body "b" at 110.0,104.0 of size 16.0 x 16.0
+    And the body "a" records its collisions
+    When I detect the collisions
+    Then 1 collision is detected
+    And the body "a" collided "b" with the normal 1.0,0.0 and a penetration of 6.0
+    And the body "a" is at 97.60,100.0
+    And the body "b" is at 112.40,104.0
+
+  @PhysicEngine @Collision
+  Scenario: U702 - A moving box gives an impulse to the box it hits
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add a body "a" at 100.0,100.0 of size 16.0 x 16.0
+    And I add a body "b" at 115.0,100.0 of size 16.0 x 16.0
+    And the body "a" moves at 2.0,0.0
+    When I detect the collisions
+    Then 1 collision is detected
+    And the body "a" speed is 0.96,0.0
+    And the body "b" speed is 1.04,0.0
+
+  @PhysicEngine @Collision
+  Scenario: U703 - An ignored collision is detected but not solved
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add a body "a" at 100.0,100.0 of size 16.0 x 16.0
+    And I add a body "b" at 110.0,104.0 of size 16.0 x 16.0
+    And the body "a" moves at 2.0,0.0
+    And the body "b" ignores its collisions
+    When I detect the collisions
+    Then 1 collision is detected
+    And the body "a" is at 100.0,100.0
+    And the body "a" speed is 2.0,0.0
+    And the body "b" is at 110.0,104.0
+
+  @PhysicEngine @Collision
+  Scenario: U704 - Two circles with the same center are pushed apart horizontally
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add a body "a" at 100.0,100.0 of size 16.0 x 16.0
+    And I add a body "b" at 100.0,100.0 of size 16.0 x 16.0
+    And the body "a" is a circle
+    And the body "b" is a circle
+    And the body "a" records its collisions
+    When I detect the collisions
+    Then 1 collision is detected
+    And the body "a" collided "b" with the normal 1.0,0.0 and a penetration of 16.0
+
+  @PhysicEngine @Collision
+  Scenario: U705 - A circle whose center is inside a box is pushed out through the nearest side
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add a body "box" at 99.0,100.0 of size 32.0 x 32.0
+    And I add a body "ball" at 100.0,112.0 of size 8.0 x 8.0
+    And the body "ball" is a circle
+    And the body "box" records its collisions
+    When I detect the collisions
+    Then 1 collision is detected
+    And the body "box" collided "ball" with the normal -1.0,0.0 and a penetration of 9.0
+
+  @PhysicEngine @Collision
+  Scenario: U706 - A box on a static block is pushed out, the block does not move
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add a body "block" at 100.0,120.0 of size 64.0 x 16.0
+    And the physic type of the body "block" is "STATIC"
+    And I add a body "box" at 110.0,108.0 of size 16.0 x 16.0
+    And the body "box" records its collisions
+    When I detect the collisions
+    Then 1 collision is detected
+    And the body "box" collided "block" with the normal 0.0,1.0 and a penetration of 4.0
+    And the body "box" is at 110.0,104.81
+    And the body "block" is at 100.0,120.0
+
+  @PhysicEngine @Collision
+  Scenario: U707 - Two sleeping bodies are not tested
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add a body "a" at 100.0,100.0 of size 16.0 x 16.0
+    And I add a body "b" at 110.0,104.0 of size 16.0 x 16.0
+    And the bodies "a,b" fall asleep
+    When I detect the collisions
+    Then 0 collisions are detected
+    And the body "a" is at 100.0,100.0
+
+  @PhysicEngine @Collision
+  Scenario: U708 - A body collides only while it is collidable
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add a body "a" at 100.0,100.0 of size 16.0 x 16.0
+    And I add a body "b" at 110.0,104.0 of size 16.0 x 16.0
+    When the body "b" is not collidable
+    And I detect the collisions
+    Then 0 collisions are detected
+    And the body "b" is at 110.0,104.0
+    When the body "b" is collidable
+    And I detect the collisions
+    Then 1 collision is detected
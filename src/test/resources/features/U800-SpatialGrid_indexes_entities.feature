@@ -0,0 +1,88 @@
+Feature: U800 - the SpatialGrid indexes the entities by the cells they overlap
+
+  The entities are retrieved from the cells covered by a query, those out of the grid being kept in its border cells.
+
+  @PhysicEngine @SpatialGrid
+  Scenario: U801 - A query finds the overlapping entities once
+    Given a spatial grid of 256 x 256 with cells of 64
+    And the entity "big" at 50.0,50.0 of size 100.0 x 100.0 is in the grid
+    And the entity "small" at 200.0,200.0 of size 8.0 x 8.0 is in the grid
+    Then the grid query of 0.0,0.0 of size 128.0 x 128.0 finds "big"
+    And the grid query of 190.0,190.0 of size 20.0 x 20.0 finds "small"
+    And the grid query of 0.0,0.0 of size 256.0 x 256.0 finds "big,small"
+    And the grid query of 180.0,10.0 of size 20.0 x 20.0 finds ""
+
+  @PhysicEngine @SpatialGrid
+  Scenario: U802 - A moving entity is moved to its new cells
+    Given a spatial grid of 256 x 256 with cells of 64
+    And the entity "small" at 200.0,200.0 of size 8.0 x 8.0 is in the grid
+    When the entity "small" moves to 10.0,10.0 in the grid
+    Then the grid query of 0.0,0.0 of size 20.0 x 20.0 finds "small"
+    And the grid query of 190.0,190.0 of size 20.0 x 20.0 finds ""
+
+  @PhysicEngine @SpatialGrid
+  Scenario: U803 - The entities out of the grid are kept in its border cells
+    Given a spatial grid of 256 x 256 with cells of 64
+    And the entity "before" at -50.0,-40.0 of size 10.0 x 10.0 is in the grid
+    And the entity "after" at 300.0,300.0 of size 10.0 x 10.0 is in the grid
+    And the entity "inside" at 100.0,100.0 of size 10.0 x 10.0 is in the grid
+    Then the grid query of -60.0,-60.0 of size 30.0 x 30.0 finds "before"
+    And the grid query of 290.0,290.0 of size 30.0 x 30.0 finds "after"
+    And the grid query of 0.0,0.0 of size 20.0 x 20.0 finds ""
+    And the grid query of -100.0,-100.0 of size 500.0 x 500.0 finds "after,before,inside"
+
+  @PhysicEngine @SpatialGrid
+  Scenario: U804 - The entities in a radius are found from their box distance
+    Given a spatial grid of 256 x 256 with cells of 64
+    And the entity "a" at 100.0,100.0 of size 8.0 x 8.0 is in the grid
+    And the entity "b" at 130.0,100.0 of size 8.0 x 8.0 is in the grid
+    And the entity "big" at 60.0,60.0 of size 100.0 x 100.0 is in the grid
+    Then the grid entities at 25.0 around 104.0,104.0 are "a,big"
+    And the grid entities at 30.0 around 104.0,104.0 are "a,b,big"
+    And the grid entities at 10.0 around 200.0,200.0 are ""
+
+  @PhysicEngine @SpatialGrid
+  Scenario: U805 - The nearest entity may be in the next cell ring
+    Given a spatial grid of 256 x 256 with cells of 64
+    And the entity "left" at 10.0,28.0 of size 4.0 x 4.0 is in the grid
+    And the entity "right" at 66.0,30.0 of size 4.0 x 4.0 is in the grid
+    Then the nearest grid entity to 62.0,32.0 within 100.0 is "right"
+    And the nearest grid entity to 30.0,32.0 within 100.0 is "left"
+    And the nearest grid entity to 62.0,32.0 within 3.0 is "none"
+
+  @PhysicEngine @SpatialGrid
+  Scenario: U806 - The nearest entity search stops at the maximum distance
+    Given a spatial grid of 256 x 256 with cells of 64
+    And the entity "out" at -100.0,10.0 of size 4.0 x 4.0 is in the grid
+    And the entity "far" at 240.0,240.0 of size 4.0 x 4.0 is in the grid
+    Then the nearest grid entity to 5.0,12.0 within 200.0 is "out"
+    And the nearest grid entity to 5.0,12.0 within 50.0 is "none"
+    And the nearest grid entity to 200.0,200.0 within 100.0 is "far"
+
+  @PhysicEngine @SpatialGrid
+  Scenario: U807 - A ray hits the first entity on its way through the cells
+    Given a spatial grid of 640 x 256 with cells of 64
+    And the entity "near" at 300.0,96.0 of size 8.0 x 8.0 is in the grid
+    And the entity "far" at 500.0,96.0 of size 8.0 x 8.0 is in the grid
+    And the entity "wide" at 100.0,150.0 of size 40.0 x 16.0 is in the grid
+    When I cast a ray from 5.0,100.0 toward 1.0,0.0 within 1000.0
+    Then the ray hits "near" at 300.0,100.0 with the normal -1.0,0.0
+    And I cast a ray from 600.0,100.0 toward -1.0,0.0 within 1000.0
+    And the ray hits "far" at 508.0,100.0 with the normal 1.0,0.0
+    And I cast a ray from 304.0,10.0 toward 0.0,1.0 within 1000.0
+    And the ray hits "near" at 304.0,96.0 with the normal 0.0,-1.0
+    And I cast a ray from 0.0,0.0 toward 0.6,0.8 within 1000.0
+    And the ray hits "wide" at 112.5,150.0 with the normal 0.0,-1.0
+    And I cast a ray from 304.0,10.0 toward 0.0,1.0 within 50.0
+    And the ray hits nothing
+
+  @PhysicEngine @SpatialGrid
+  Scenario: U808 - A ray starting inside an entity or out of the grid
+    Given a spatial grid of 640 x 256 with cells of 64
+    And the entity "near" at 300.0,96.0 of size 8.0 x 8.0 is in the grid
+    When I cast a ray from 302.0,98.0 toward 1.0,0.0 within 1000.0
+    Then the ray hits "near" at 302.0,98.0 with the normal 0.0,0.0
+    And I cast a ray from -50.0,100.0 toward 1.0,0.0 within 1000.0
+    And the ray hits "near" at 300.0,100.0 with the normal -1.0,0.0
+    And I cast a ray from -50.0,100.0 toward -1.0,0.0 within 1000.0
+    And the ray hits nothing
@@ -0,0 +1,43 @@
+Feature: U900 - the GameEntity keeps the hierarchy of its descendants
+
+  The descendants of an entity are flattened in depth-first order, each one followed by its subtree, whose size is
+  kept to skip it in one step.
+
+  @GameEntity @Hierarchy
+  Scenario: U901 - The descendants are listed in depth-first order with their subtree size
+    Given the entity "root" has the children "a,b"
+    And the entity "a" has the children "a1,a2"
+    And the entity "a1" has the children "a11"
+    And the entity "b" has the children "b1"
+    Then the hierarchy of "root" is "a,a1,a11,a2,b,b1"
+    And the subtree sizes in the hierarchy of "root" are "3,1,0,0,1,0"
+    And the hierarchy of "a" is "a1,a11,a2"
+
+  @GameEntity @Hierarchy
+  Scenario: U902 - The hierarchy is rebuilt when a descendant is added, removed or moved
+    Given the entity "root" has the children "a,b"
+    And the entity "a" has the children "a1,a2"
+    And the entity "b" has the children "b1"
+    Then the hierarchy of "root" is "a,a1,a2,b,b1"
+    When I remove the child "a1" from "a"
+    Then the hierarchy of "root" is "a,a2,b,b1"
+    When I move the child "a2" to "b1"
+    Then the hierarchy of "root" is "a,b,b1,a2"
+    And the subtree sizes in the hierarchy of "root" are "0,2,1,0"
+
+  @GameEntity @Hierarchy @PhysicEngine
+  Scenario: U903 - The subtree of a child not integrated by the PhysicEngine is skipped
+    Given a Game is instantiated
+    And I Add a World with a play area of 640 x 400
+    And I add a body "ship" at 100.0,100.0 of size 16.0 x 16.0
+    And I add a child body "drone" to "ship" at 120.0,100.0 of size 4.0 x 4.0
+    And I add a child body "gun" to "ship" at 100.0,120.0 of size 4.0 x 4.0
+    And I add a child body "bullet" to "gun" at 100.0,130.0 of size 2.0 x 2.0
+    And the physic type of the body "gun" is "STATIC"
+    And the body "drone" moves at 1.0,0.0
+    And the body "gun" moves at 1.0,0.0
+    And the body "bullet" moves at 1.0,0.0
+    When I update the physic 10 times
+    Then the body "drone" has moved
+    And the body "gun" has not moved
+    And the body "bullet" has not moved